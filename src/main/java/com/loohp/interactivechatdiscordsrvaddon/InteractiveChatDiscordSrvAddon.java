@@ -41,6 +41,7 @@ import com.loohp.interactivechatdiscordsrvaddon.api.events.ResourceManagerInitia
 import com.loohp.interactivechatdiscordsrvaddon.debug.Debug;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageGeneration;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.graphics.MapQuantizer;
 import com.loohp.interactivechatdiscordsrvaddon.listeners.DiscordCommandEvents;
 import com.loohp.interactivechatdiscordsrvaddon.listeners.DiscordInteractionEvents;
 import com.loohp.interactivechatdiscordsrvaddon.listeners.DiscordReadyEvents;
@@ -67,8 +68,11 @@ import com.loohp.interactivechatdiscordsrvaddon.resources.mods.ModManager;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimeManager;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine.OptifineManager;
 import com.loohp.interactivechatdiscordsrvaddon.updater.Updater;
+import com.loohp.interactivechatdiscordsrvaddon.utils.MediaDownloadPipeline;
 import com.loohp.interactivechatdiscordsrvaddon.utils.ResourcePackUtils;
 import com.loohp.interactivechatdiscordsrvaddon.utils.TranslationKeyUtils;
+import com.loohp.interactivechatdiscordsrvaddon.wrappers.MapPlaybackScheduler;
+import com.loohp.interactivechatdiscordsrvaddon.wrappers.MapPreviewCache;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.ListenerPriority;
 import github.scarsz.discordsrv.dependencies.jda.api.Permission;
@@ -180,9 +184,14 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
     public boolean discordAttachmentsImagesUseMaps = true;
     public long discordAttachmentsPreviewLimit = 0;
     public int discordAttachmentTimeout = 0;
+    public int discordAttachmentsDownloadThreads = 8;
+    public int discordAttachmentsDownloadQueueSize = 256;
+    public int discordAttachmentsDownloadPerHostLimit = 2;
+    public int discordAttachmentsDownloadTimeout = 10000;
     public String discordAttachmentsFormattingImageAppend;
     public String discordAttachmentsFormattingImageAppendHover;
     public Color discordAttachmentsMapBackgroundColor = null;
+    public MapQuantizer.Dithering discordAttachmentsMapDithering = MapQuantizer.Dithering.NONE;
     public boolean imageWhitelistEnabled = false;
     public List<String> whitelistedImageUrls = new ArrayList<>();
     public boolean translateMentions = true;
@@ -200,6 +209,8 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
     public boolean playbackBarEnabled = true;
     public Color playbackBarFilledColor;
     public Color playbackBarEmptyColor;
+    public int discordAttachmentsMaxFrames = 1000;
+    public long discordAttachmentsMaxDuration = 120000;
     public String language = "en_us";
     public boolean respondToCommandsInInvalidChannels = true;
     public String discordMemberLabel = "";
@@ -272,10 +283,18 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
     public boolean showBooks = true;
     public boolean showContainers = true;
     public int rendererThreads = -1;
+    public int resourceLoadingThreads = -1;
+    public long memoryCacheSize = 64;
+    public long texturePoolSize = 64;
+    public long glyphCacheSize = 16;
 
     private ResourceManager resourceManager;
     public ModelRenderer modelRenderer;
     public ExecutorService mediaReadingService;
+    public ExecutorService contentRenderingService;
+    public MediaDownloadPipeline mediaDownloadPipeline;
+    public MapPreviewCache mapPreviewCache = new MapPreviewCache();
+    public MapPlaybackScheduler mapPlaybackScheduler;
 
     protected Map<String, byte[]> extras = new ConcurrentHashMap<>();
 
@@ -379,6 +398,13 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
 
         ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("InteractiveChatDiscordSRVAddon Async Media Reading Thread #%d").build();
         mediaReadingService = Executors.newFixedThreadPool(4, factory);
+        ThreadFactory contentFactory = new ThreadFactoryBuilder().setNameFormat("InteractiveChatDiscordSRVAddon Async Content Rendering Thread #%d").build();
+        contentRenderingService = Executors.newFixedThreadPool(Math.max(1, rendererThreads > 0 ? rendererThreads : Runtime.getRuntime().availableProcessors() + rendererThreads), contentFactory);
+        ImageUtils.getPngEncoder().setExecutor(contentRenderingService);
+        mediaDownloadPipeline = new MediaDownloadPipeline(Math.max(1, discordAttachmentsDownloadThreads), Math.max(1, discordAttachmentsDownloadQueueSize), Math.max(1, discordAttachmentsDownloadPerHostLimit), discordAttachmentsDownloadTimeout);
+
+        mapPlaybackScheduler = new MapPlaybackScheduler();
+        mapPlaybackScheduler.start(this);
 
         Bukkit.getScheduler().runTaskTimerAsynchronously(this, () -> {
             for (ICPlayer player : ICPlayerFactory.getOnlineICPlayers()) {
@@ -427,6 +453,12 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         DiscordInteractionEvents.unregisterAll();
         modelRenderer.close();
         mediaReadingService.shutdown();
+        ImageUtils.getPngEncoder().setExecutor(null);
+        contentRenderingService.shutdown();
+        mediaDownloadPipeline.close();
+        if (mapPlaybackScheduler != null) {
+            mapPlaybackScheduler.stop();
+        }
         if (resourceManager != null) {
             resourceManager.close();
         }
@@ -505,6 +537,10 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         discordAttachmentsImagesUseMaps = config.getConfiguration().getBoolean("DiscordAttachments.ShowImageUsingMaps");
         discordAttachmentsPreviewLimit = config.getConfiguration().getLong("DiscordAttachments.FileSizeLimit");
         discordAttachmentTimeout = config.getConfiguration().getInt("DiscordAttachments.Timeout") * 20;
+        discordAttachmentsDownloadThreads = config.getConfiguration().getInt("DiscordAttachments.Downloads.Threads");
+        discordAttachmentsDownloadQueueSize = config.getConfiguration().getInt("DiscordAttachments.Downloads.QueueSize");
+        discordAttachmentsDownloadPerHostLimit = config.getConfiguration().getInt("DiscordAttachments.Downloads.PerHostLimit");
+        discordAttachmentsDownloadTimeout = config.getConfiguration().getInt("DiscordAttachments.Downloads.Timeout");
         discordAttachmentsFormattingImageAppend = ChatColorUtils.translateAlternateColorCodes('&', config.getConfiguration().getString("DiscordAttachments.Formatting.ImageOriginal"));
         discordAttachmentsFormattingImageAppendHover = ChatColorUtils.translateAlternateColorCodes('&', String.join("\n", config.getConfiguration().getStringList("DiscordAttachments.Formatting.Hover.ImageOriginalHover")));
 
@@ -514,6 +550,13 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         } else {
             discordAttachmentsMapBackgroundColor = ColorUtils.hex2Rgb(config.getConfiguration().getString("DiscordAttachments.ImageMapBackground.Color"));
         }
+        String mapDithering = config.getConfiguration().getString("DiscordAttachments.MapDithering");
+        try {
+            discordAttachmentsMapDithering = MapQuantizer.Dithering.valueOf(mapDithering.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            getServer().getConsoleSender().sendMessage(ChatColor.YELLOW + "[ICDiscordSrvAddon] Warning: Unknown DiscordAttachments.MapDithering \"" + mapDithering + "\", using NONE instead");
+            discordAttachmentsMapDithering = MapQuantizer.Dithering.NONE;
+        }
 
         imageWhitelistEnabled = config.getConfiguration().getBoolean("DiscordAttachments.RestrictImageUrl.Enabled");
         whitelistedImageUrls = config.getConfiguration().getStringList("DiscordAttachments.RestrictImageUrl.Whitelist");
@@ -521,6 +564,9 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         updaterEnabled = config.getConfiguration().getBoolean("Options.UpdaterEnabled");
 
         cacheTimeout = config.getConfiguration().getInt("Settings.CacheTimeout") * 20;
+        memoryCacheSize = config.getConfiguration().getLong("Settings.MemoryCacheSize");
+        texturePoolSize = config.getConfiguration().getLong("Settings.TexturePoolSize");
+        glyphCacheSize = config.getConfiguration().getLong("Settings.GlyphCacheSize");
 
         escapePlaceholdersFromDiscord = config.getConfiguration().getBoolean("Settings.EscapePlaceholdersSentFromDiscord");
         escapeDiscordMarkdownInItems = config.getConfiguration().getBoolean("Settings.EscapeDiscordMarkdownFormattingInItems");
@@ -550,6 +596,11 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         playbackBarEnabled = config.getConfiguration().getBoolean("DiscordAttachments.PlaybackBar.Enabled");
         playbackBarFilledColor = ColorUtils.hex2Rgb(config.getConfiguration().getString("DiscordAttachments.PlaybackBar.FilledColor"));
         playbackBarEmptyColor = ColorUtils.hex2Rgb(config.getConfiguration().getString("DiscordAttachments.PlaybackBar.EmptyColor"));
+        discordAttachmentsMaxFrames = config.getConfiguration().getInt("DiscordAttachments.AnimationLimits.MaxFrames");
+        discordAttachmentsMaxDuration = config.getConfiguration().getLong("DiscordAttachments.AnimationLimits.MaxDuration") * 1000;
+        mapPreviewCache.setMaxSize(config.getConfiguration().getLong("DiscordAttachments.PreviewCache.Size") * 1024 * 1024);
+        mapPreviewCache.setDiskBacked(config.getConfiguration().getBoolean("DiscordAttachments.PreviewCache.DiskBacked"));
+        mapPreviewCache.clear();
 
         respondToCommandsInInvalidChannels = config.getConfiguration().getBoolean("DiscordCommands.GlobalSettings.RespondToCommandsInInvalidChannels");
 
@@ -621,6 +672,8 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
         showContainers = config.getConfiguration().getBoolean("DiscordItemDetailsAndInteractions.ShowContainers");
 
         rendererThreads = config.getConfiguration().getInt("Settings.RendererSettings.RendererThreads");
+        ImageUtils.getPngEncoder().setCompressionLevel(config.getConfiguration().getInt("Settings.RendererSettings.PngCompressionLevel"));
+        resourceLoadingThreads = config.getConfiguration().getInt("Resources.LoadingThreads");
 
         language = config.getConfiguration().getString("Resources.Language");
         LanguageUtils.loadTranslations(language);
@@ -723,7 +776,7 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
                 ResourceManager resourceManager = new ResourceManager(
                         ResourcePackUtils.getServerResourcePackVersion(),
                         mods,
-                        Arrays.asList(CustomItemTextureRegistry.getDefaultSupplier(), ICacheManager.getDefaultSupplier(new File(getDataFolder(), "cache"))),
+                        Arrays.asList(CustomItemTextureRegistry.getDefaultSupplier(), ICacheManager.getDefaultSupplier(new File(getDataFolder(), "cache"), memoryCacheSize * 1024 * 1024)),
                         (resourcePackFile, type) -> new ResourceManager.DefaultResourcePackInfo(
                                 Component.translatable(TranslationKeyUtils.getResourcePackVanillaName()),
                                 PackFormat.version(ResourcePackUtils.getServerResourcePackVersion()),
@@ -739,6 +792,9 @@ public class InteractiveChatDiscordSrvAddon extends JavaPlugin implements Listen
                     Bukkit.getConsoleSender().sendMessage(ChatColor.GRAY + "[ICDiscordSrvAddon] Registered ModManager \"" + entry.getKey() + "\" of class \"" + entry.getValue().getClass().getName() + "\"");
                 }
 
+                resourceManager.getTextureManager().getTexturePool().setMaxSize(texturePoolSize * 1024 * 1024);
+                resourceManager.getFontManager().getGlyphCache().setMaxSize(glyphCacheSize * 1024 * 1024);
+                resourceManager.setLoadingParallelism(resourceLoadingThreads > 0 ? resourceLoadingThreads : Runtime.getRuntime().availableProcessors() + resourceLoadingThreads);
                 resourceManager.getFontManager().setDefaultKey(forceUnicode ? FontManager.UNIFORM_FONT : FontManager.DEFAULT_FONT);
                 resourceManager.getLanguageManager().setTranslateFunction((translateKey, language) -> LanguageUtils.getTranslation(translateKey, language));
                 resourceManager.getLanguageManager().setAvailableLanguagesSupplier(() -> LanguageUtils.getLoadedLanguages());
@@ -33,7 +33,9 @@ import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.ImageInputStream;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -80,6 +82,38 @@ public class GifReader {
         });
     }
 
+    public static Future<List<ImageFrame>> readGif(InputStream stream, ExecutorService service, int targetSize, int maxFrames, long maxDuration, BiConsumer<List<ImageFrame>, Throwable> completeAction) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int nRead;
+        byte[] data = new byte[2048];
+        while ((nRead = stream.read(data, 0, data.length)) != -1) {
+            buffer.write(data, 0, nRead);
+        }
+        stream.close();
+        byte[] targetArray = buffer.toByteArray();
+        return service.submit(() -> {
+            try {
+                List<ImageFrame> result;
+                result = returnOrNull(() -> readGifStreaming(new ByteArrayInputStream(targetArray), targetSize, maxFrames, maxDuration));
+                if (result != null) {
+                    completeAction.accept(result, null);
+                    return result;
+                }
+                result = returnOrNull(() -> readGifMethod0(new ByteArrayInputStream(targetArray), targetSize, maxFrames, maxDuration));
+                if (result != null) {
+                    completeAction.accept(result, null);
+                    return result;
+                }
+                List<ImageFrame> frames = returnOrNull(() -> limitFrames(readGifFallbackMethod(new ByteArrayInputStream(targetArray)), targetSize, maxFrames, maxDuration));
+                completeAction.accept(frames, null);
+                return frames;
+            } catch (Throwable e) {
+                completeAction.accept(null, e);
+                return null;
+            }
+        });
+    }
+
     private static List<ImageFrame> returnOrNull(ThrowingSupplier<List<ImageFrame>> supplier) {
         try {
             return supplier.get();
@@ -103,6 +137,15 @@ public class GifReader {
         }
     }
 
+    private static List<ImageFrame> readGifMethod0(InputStream stream, int targetSize, int maxFrames, long maxDuration) throws IOException {
+        LimitedGifDecoder reader = new LimitedGifDecoder(targetSize, maxFrames, maxDuration);
+        reader.read(stream);
+        if (reader.result.isEmpty()) {
+            throw new IOException("Unable to read Gif");
+        }
+        return reader.result;
+    }
+
     private static List<ImageFrame> readGifMethod1(InputStream input) throws IOException {
         ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
         ImageInputStream stream = ImageIO.createImageInputStream(input);
@@ -147,8 +190,8 @@ public class GifReader {
 
             IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(frameIndex).getAsTree("javax_imageio_gif_image_1.0");
             IIOMetadataNode gce = (IIOMetadataNode) root.getElementsByTagName("GraphicControlExtension").item(0);
-            int delay = Integer.parseInt(gce.getAttribute("delayTime")) * 10;
-            String disposal = gce.getAttribute("disposalMethod");
+            int delay = gce == null ? 0 : Integer.parseInt(gce.getAttribute("delayTime")) * 10;
+            String disposal = gce == null ? "none" : gce.getAttribute("disposalMethod");
 
             int x = 0;
             int y = 0;
@@ -194,8 +237,166 @@ public class GifReader {
         return frames;
     }
 
+    private static List<ImageFrame> readGifStreaming(InputStream input, int targetSize, int maxFrames, long maxDuration) throws IOException {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        ImageInputStream stream = ImageIO.createImageInputStream(input);
+        reader.setInput(stream, true);
+
+        List<ImageFrame> frames = new ArrayList<>();
+        long totalDuration = 0;
+
+        int width = -1;
+        int height = -1;
+
+        IIOMetadata metadata = reader.getStreamMetadata();
+        if (metadata != null) {
+            IIOMetadataNode globalRoot = (IIOMetadataNode) metadata.getAsTree(metadata.getNativeMetadataFormatName());
+
+            NodeList globalScreenDescriptor = globalRoot.getElementsByTagName("LogicalScreenDescriptor");
+
+            if (globalScreenDescriptor != null && globalScreenDescriptor.getLength() > 0) {
+                IIOMetadataNode screenDescriptor = (IIOMetadataNode) globalScreenDescriptor.item(0);
+
+                if (screenDescriptor != null) {
+                    width = Integer.parseInt(screenDescriptor.getAttribute("logicalScreenWidth"));
+                    height = Integer.parseInt(screenDescriptor.getAttribute("logicalScreenHeight"));
+                }
+            }
+        }
+
+        BufferedImage master = null;
+        Graphics2D masterGraphics = null;
+
+        try {
+            for (int frameIndex = 0; frames.size() < maxFrames && totalDuration < maxDuration; frameIndex++) {
+                BufferedImage image;
+                try {
+                    image = reader.read(frameIndex);
+                } catch (IndexOutOfBoundsException io) {
+                    break;
+                }
+
+                if (width == -1 || height == -1) {
+                    width = image.getWidth();
+                    height = image.getHeight();
+                }
+
+                IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(frameIndex).getAsTree("javax_imageio_gif_image_1.0");
+                IIOMetadataNode gce = (IIOMetadataNode) root.getElementsByTagName("GraphicControlExtension").item(0);
+                int delay = gce == null ? 0 : Integer.parseInt(gce.getAttribute("delayTime")) * 10;
+                String disposal = gce == null ? "none" : gce.getAttribute("disposalMethod");
+
+                int x = 0;
+                int y = 0;
+
+                if (master == null) {
+                    master = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                    masterGraphics = master.createGraphics();
+                    masterGraphics.setBackground(new Color(0, 0, 0, 0));
+                } else {
+                    NodeList children = root.getChildNodes();
+                    for (int nodeIndex = 0; nodeIndex < children.getLength(); nodeIndex++) {
+                        Node nodeItem = children.item(nodeIndex);
+                        if (nodeItem.getNodeName().equals("ImageDescriptor")) {
+                            NamedNodeMap map = nodeItem.getAttributes();
+                            x = Integer.parseInt(map.getNamedItem("imageLeftPosition").getNodeValue());
+                            y = Integer.parseInt(map.getNamedItem("imageTopPosition").getNodeValue());
+                        }
+                    }
+                }
+
+                WritableRaster previous = disposal.equals("restoreToPrevious") ? master.copyData(null) : null;
+                masterGraphics.drawImage(image, x, y, null);
+
+                frames.add(new ImageFrame(downsample(master, targetSize), delay, disposal));
+                totalDuration += delay;
+
+                if (previous != null) {
+                    master.setData(previous);
+                } else if (disposal.equals("restoreToBackgroundColor")) {
+                    masterGraphics.clearRect(x, y, image.getWidth(), image.getHeight());
+                }
+            }
+        } finally {
+            if (masterGraphics != null) {
+                masterGraphics.dispose();
+            }
+            reader.dispose();
+        }
+
+        return frames;
+    }
+
+    private static List<ImageFrame> limitFrames(List<ImageFrame> frames, int targetSize, int maxFrames, long maxDuration) {
+        List<ImageFrame> result = new ArrayList<>(Math.min(frames.size(), maxFrames));
+        long totalDuration = 0;
+        for (int i = 0; i < frames.size() && result.size() < maxFrames && totalDuration < maxDuration; i++) {
+            ImageFrame frame = frames.get(i);
+            result.add(new ImageFrame(downsample(frame.getImage(), targetSize), frame.getDelay(), frame.getDisposal()));
+            totalDuration += frame.getDelay();
+        }
+        return result;
+    }
+
+    private static BufferedImage downsample(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = (double) size / (double) Math.max(width, height);
+        int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+        BufferedImage result = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(image, (size - scaledWidth) / 2, (size - scaledHeight) / 2, scaledWidth, scaledHeight, null);
+        g.dispose();
+        return result;
+    }
+
     private static List<ImageFrame> readGifFallbackMethod(InputStream input) throws IOException {
         return Collections.singletonList(new ImageFrame(ImageIO.read(input)));
     }
 
+    /**
+     * Downsamples each frame as soon as it is decoded and stops decoding once the limits are reached.
+     * Only the two frames before the current one are kept at full size, which is as far back as
+     * disposal can restore from.
+     */
+    private static class LimitedGifDecoder extends GifDecoder {
+
+        private final int targetSize;
+        private final int maxFrames;
+        private final long maxDuration;
+        private final List<ImageFrame> result;
+        private long totalDuration;
+
+        private LimitedGifDecoder(int targetSize, int maxFrames, long maxDuration) {
+            this.targetSize = targetSize;
+            this.maxFrames = maxFrames;
+            this.maxDuration = maxDuration;
+            this.result = new ArrayList<>();
+            this.totalDuration = 0;
+        }
+
+        @Override
+        protected void readImage() {
+            int frameCount = getFrameCount();
+            super.readImage();
+            if (getFrameCount() == frameCount) {
+                return;
+            }
+            int index = getFrameCount() - 1;
+            int delay = getDelay(index);
+            result.add(new ImageFrame(downsample(getFrame(index), targetSize), delay, ""));
+            totalDuration += delay;
+            if (index >= 3) {
+                frames.set(index - 3, null);
+            }
+            if (result.size() >= maxFrames || totalDuration >= maxDuration) {
+                //stops readContents, the frames read so far are kept in result
+                status = STATUS_FORMAT_ERROR;
+            }
+        }
+
+    }
+
 }
@@ -43,12 +43,12 @@ import com.loohp.interactivechat.utils.FilledMapUtils;
 import com.loohp.interactivechat.utils.HTTPRequestUtils;
 import com.loohp.interactivechat.utils.HashUtils;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
 import com.loohp.interactivechat.utils.MCVersion;
 import com.loohp.interactivechat.utils.SkinUtils;
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
 import com.loohp.interactivechatdiscordsrvaddon.debug.Debug;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.AdvancementType;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.ToolTipComponent;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.ToolTipComponent.ToolTipType;
 import com.loohp.interactivechatdiscordsrvaddon.registry.ResourceRegistry;
@@ -92,16 +92,17 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.BundleMeta;
-import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.map.MapCursor;
 import org.bukkit.map.MapPalette;
 
 import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -113,7 +114,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
@@ -132,6 +136,7 @@ public class ImageGeneration {
     public static final Color ENCHANTMENT_GLINT_LEGACY_COLOR = new Color(164, 84, 255);
     public static final String PLAYER_CAPE_CACHE_KEY = "PlayerCapeTexture";
     public static final String PLAYER_SKIN_CACHE_KEY = "PlayerSkinTexture";
+    public static final String PLAYER_AVATAR_CACHE_KEY = "PlayerAvatar";
     public static final String INVENTORY_CACHE_KEY = "Inventory";
     public static final String PLAYER_INVENTORY_CACHE_KEY = "PlayerInventory";
     public static final int TABLIST_SINGLE_COLUMN_LIMIT = 20;
@@ -154,6 +159,53 @@ public class ImageGeneration {
     private static Supplier<String> language = () -> InteractiveChatDiscordSrvAddon.plugin.language;
     private static Supplier<UnaryOperator<String>> translateFunction = () -> resourceManager.get().getLanguageManager().getTranslateFunction().ofLanguage(language.get());
 
+    private static int[] mapPaletteColors = null;
+    private static boolean[] mapPaletteValid = null;
+    private static volatile MapIconCache mapIconCache = new MapIconCache(null);
+
+    private static synchronized void loadMapPalette() {
+        if (mapPaletteColors != null) {
+            return;
+        }
+        int[] colors = new int[256];
+        boolean[] valid = new boolean[256];
+        for (int i = 0; i < 256; i++) {
+            try {
+                colors[i] = MapPalette.getColor((byte) i).getRGB();
+                valid[i] = true;
+            } catch (Throwable ignore) {
+            }
+        }
+        mapPaletteValid = valid;
+        mapPaletteColors = colors;
+    }
+
+    private static BufferedImage getMapIcon(BufferedImage asset, int iconWidth, int type, byte direction) {
+        MapIconCache cache = mapIconCache;
+        if (cache.asset != asset) {
+            mapIconCache = cache = new MapIconCache(asset);
+        }
+        return cache.icons.computeIfAbsent((type << 8) | (direction & 0xFF), k -> {
+            double rotation = (360.0 / 16.0 * (double) direction) + 180.0;
+            BufferedImage iconImage = ImageUtils.copyAndGetSubImage(asset, type % MAP_ICON_PER_ROLE * iconWidth, type / MAP_ICON_PER_ROLE * iconWidth, iconWidth, iconWidth);
+            BufferedImage iconImageBig = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g3 = iconImageBig.createGraphics();
+            g3.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g3.drawImage(iconImage, iconImageBig.getWidth() / 6, iconImageBig.getHeight() / 6, 64, 64, null);
+            g3.dispose();
+            iconImage = iconImageBig;
+
+            BufferedImage iconCan = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+
+            AffineTransform at = new AffineTransform();
+            at.rotate(Math.toRadians(rotation), iconImage.getWidth() / 2.0, iconImage.getHeight() / 2.0);
+            Graphics2D g2d = iconCan.createGraphics();
+            g2d.drawImage(iconImage, at, null);
+            g2d.dispose();
+            return iconCan;
+        });
+    }
+
     public static BufferedImage getMissingImage(int width, int length) {
         return TextureManager.getMissingImage(width, length);
     }
@@ -278,7 +330,7 @@ public class ImageGeneration {
         if (!inventory.contains(XMaterial.COMPASS.parseMaterial()) && !inventory.contains(XMaterial.CLOCK.parseMaterial()) && Arrays.stream(inventory.getContents()).anyMatch(each -> each != null && NBTEditor.contains(each, "CustomModelData"))) {
             CacheObject<?> cache = resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(key);
             if (cache != null) {
-                return ImageUtils.copyImage((BufferedImage) cache.getObject());
+                return (BufferedImage) cache.getObject();
             }
         }
 
@@ -342,7 +394,7 @@ public class ImageGeneration {
         if (!inventory.contains(XMaterial.COMPASS.parseMaterial()) && !inventory.contains(XMaterial.CLOCK.parseMaterial()) && Arrays.stream(inventory.getContents()).anyMatch(each -> each != null && NBTEditor.contains(each, "CustomModelData"))) {
             CacheObject<?> cache = resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(key);
             if (cache != null) {
-                return ImageUtils.copyImage((BufferedImage) cache.getObject());
+                return (BufferedImage) cache.getObject();
             }
         }
 
@@ -518,7 +570,6 @@ public class ImageGeneration {
                     } else {
                         skin = (BufferedImage) cache.getObject();
                     }
-                    skin = ImageUtils.copyImage(skin);
                 } catch (Throwable e1) {
                 }
             }
@@ -735,44 +786,47 @@ public class ImageGeneration {
                 providedTextures.put(ResourceRegistry.HELMET_TEXTURE_PLACEHOLDER, new GeneratedTextureResource(resourceManager.get(), helmetImage));
             }
         } else if (helmet != null && !helmet.getType().equals(Material.AIR)) {
-            ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, helmet, EquipmentSlot.HEAD, version.get().isOld(), language.get());
+            ItemStackSnapshot helmetSnapshot = new ItemStackSnapshot(helmet);
+            ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, helmetSnapshot, EquipmentSlot.HEAD, version.get().isOld(), language.get());
             boolean enchanted = itemProcessResult.requiresEnchantmentGlint();
             Map<ModelOverrideType, Float> predicate = itemProcessResult.getPredicates();
             String modelKey = itemProcessResult.getModelKey();
             Map<String, TextureResource> itemProvidedTextures = itemProcessResult.getProvidedTextures();
             TintColorProvider tintColorProvider = itemProcessResult.getTintColorProvider();
-            List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(EquipmentSlot.HEAD, helmet, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
+            List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(EquipmentSlot.HEAD, helmetSnapshot, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
             BiFunction<BufferedImage, EnchantmentGlintType, BufferedImage> enchantmentGlintFunction = (img, glintType) -> getEnchantedImage(enchantmentGlintResource, img);
             BiFunction<BufferedImage, EnchantmentGlintType, RawEnchantmentGlintData> rawEnchantmentGlintFunction = (img, glintType) -> new RawEnchantmentGlintData(enchantmentGlintResource.stream().map(each -> getRawEnchantedImage(each.getFirst(), img)).collect(Collectors.toList()), enchantmentGlintResource.stream().map(each -> each.getSecond()).collect(Collectors.toList()));
-            modelItems.put(PlayerModelItemPosition.HELMET, new PlayerModelItem(PlayerModelItemPosition.HELMET, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, EquipmentSlot.HEAD, helmet, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
+            modelItems.put(PlayerModelItemPosition.HELMET, new PlayerModelItem(PlayerModelItemPosition.HELMET, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, EquipmentSlot.HEAD, helmetSnapshot, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
         }
 
         if (InteractiveChatDiscordSrvAddon.plugin.renderHandHeldItems) {
             if (rightHand != null && !rightHand.getType().equals(Material.AIR)) {
                 EquipmentSlot slot = player.isRightHanded() ? EquipmentSlot.HAND : EquipmentSlot.valueOf("OFF_HAND");
-                ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, rightHand, slot, version.get().isOld(), language.get());
+                ItemStackSnapshot rightHandSnapshot = new ItemStackSnapshot(rightHand);
+                ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, rightHandSnapshot, slot, version.get().isOld(), language.get());
                 boolean enchanted = itemProcessResult.requiresEnchantmentGlint();
                 Map<ModelOverrideType, Float> predicate = itemProcessResult.getPredicates();
                 String modelKey = itemProcessResult.getModelKey();
                 Map<String, TextureResource> itemProvidedTextures = itemProcessResult.getProvidedTextures();
                 TintColorProvider tintColorProvider = itemProcessResult.getTintColorProvider();
-                List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(slot, rightHand, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
+                List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(slot, rightHandSnapshot, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
                 BiFunction<BufferedImage, EnchantmentGlintType, BufferedImage> enchantmentGlintFunction = (img, glintType) -> getEnchantedImage(enchantmentGlintResource, img);
                 BiFunction<BufferedImage, EnchantmentGlintType, RawEnchantmentGlintData> rawEnchantmentGlintFunction = (img, glintType) -> new RawEnchantmentGlintData(enchantmentGlintResource.stream().map(each -> getRawEnchantedImage(each.getFirst(), img)).collect(Collectors.toList()), enchantmentGlintResource.stream().map(each -> each.getSecond()).collect(Collectors.toList()));
-                modelItems.put(PlayerModelItemPosition.RIGHT_HAND, new PlayerModelItem(PlayerModelItemPosition.RIGHT_HAND, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, rightHand, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
+                modelItems.put(PlayerModelItemPosition.RIGHT_HAND, new PlayerModelItem(PlayerModelItemPosition.RIGHT_HAND, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, rightHandSnapshot, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
             }
             if (leftHand != null && !leftHand.getType().equals(Material.AIR)) {
                 EquipmentSlot slot = player.isRightHanded() ? EquipmentSlot.valueOf("OFF_HAND") : EquipmentSlot.HAND;
-                ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, leftHand, slot, version.get().isOld(), language.get());
+                ItemStackSnapshot leftHandSnapshot = new ItemStackSnapshot(leftHand);
+                ItemStackProcessResult itemProcessResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, leftHandSnapshot, slot, version.get().isOld(), language.get());
                 boolean enchanted = itemProcessResult.requiresEnchantmentGlint();
                 Map<ModelOverrideType, Float> predicate = itemProcessResult.getPredicates();
                 String modelKey = itemProcessResult.getModelKey();
                 Map<String, TextureResource> itemProvidedTextures = itemProcessResult.getProvidedTextures();
                 TintColorProvider tintColorProvider = itemProcessResult.getTintColorProvider();
-                List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(slot, leftHand, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
+                List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(slot, leftHandSnapshot, () -> getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), translateFunction.get());
                 BiFunction<BufferedImage, EnchantmentGlintType, BufferedImage> enchantmentGlintFunction = (img, glintType) -> getEnchantedImage(enchantmentGlintResource, img);
                 BiFunction<BufferedImage, EnchantmentGlintType, RawEnchantmentGlintData> rawEnchantmentGlintFunction = (img, glintType) -> new RawEnchantmentGlintData(enchantmentGlintResource.stream().map(each -> getRawEnchantedImage(each.getFirst(), img)).collect(Collectors.toList()), enchantmentGlintResource.stream().map(each -> each.getSecond()).collect(Collectors.toList()));
-                modelItems.put(PlayerModelItemPosition.LEFT_HAND, new PlayerModelItem(PlayerModelItemPosition.LEFT_HAND, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, leftHand, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
+                modelItems.put(PlayerModelItemPosition.LEFT_HAND, new PlayerModelItem(PlayerModelItemPosition.LEFT_HAND, modelKey, resourceManager.get().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, leftHandSnapshot, version.get().isOld(), predicate, player, world, livingEntity, translateFunction.get()).orElse(null), predicate, enchanted, itemProvidedTextures, tintColorProvider, enchantmentGlintFunction, rawEnchantmentGlintFunction));
             }
         }
 
@@ -804,14 +858,15 @@ public class ImageGeneration {
 
     private static BufferedImage getRawItemImage(ItemStack item, OfflineICPlayer player, int size) throws IOException {
         InteractiveChatDiscordSrvAddon.plugin.imageCounter.incrementAndGet();
-        Debug.debug("ImageGeneration creating raw item stack image " + (item == null ? "null" : ItemNBTUtils.getNMSItemStackJson(item)));
+        ItemStackSnapshot itemStackSnapshot = new ItemStackSnapshot(item);
+        Debug.debug("ImageGeneration creating raw item stack image " + itemStackSnapshot.getJson());
 
         double scale = (double) size / DEFAULT_ITEM_RENDER_SIZE;
 
-        ICMaterial icMaterial = ICMaterial.from(item);
-        int amount = item.getAmount();
+        ICMaterial icMaterial = itemStackSnapshot.getICMaterial();
+        int amount = itemStackSnapshot.getAmount();
         String key = ModelUtils.getItemModelKey(icMaterial);
-        ItemStackProcessResult processResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, item, null, version.get().isOld(), language.get());
+        ItemStackProcessResult processResult = ItemRenderUtils.processItemForRendering(resourceManager.get(), player, itemStackSnapshot, null, version.get().isOld(), language.get());
         boolean requiresEnchantmentGlint = processResult.requiresEnchantmentGlint();
         Map<ModelOverrideType, Float> predicates = processResult.getPredicates();
         Map<String, TextureResource> providedTextures = processResult.getProvidedTextures();
@@ -829,9 +884,9 @@ public class ImageGeneration {
             itemImage = TextureManager.getMissingImage(size, size);
         }
 
-        if (item.getType().getMaxDurability() > 0) {
-            int maxDur = item.getType().getMaxDurability();
-            int durability = maxDur - (version.get().isLegacy() ? item.getDurability() : ((Damageable) item.getItemMeta()).getDamage());
+        if (itemStackSnapshot.getMaxDurability() > 0) {
+            int maxDur = itemStackSnapshot.getMaxDurability();
+            int durability = maxDur - itemStackSnapshot.getDamage();
             double percentage = Math.max(0.0, Math.min(1.0, ((double) durability / (double) maxDur)));
             if (percentage < 1) {
                 int hue = (int) (125 * percentage);
@@ -915,7 +970,7 @@ public class ImageGeneration {
         InteractiveChatDiscordSrvAddon.plugin.imageCounter.incrementAndGet();
         Debug.debug("ImageGeneration creating map image with color and cursors");
 
-        BufferedImage background = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.MAP_TEXTURE_LOCATION + "map_background").getTexture();
+        BufferedImage background = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.MAP_TEXTURE_LOCATION + "map_background").getSharedTexture();
 
         BufferedImage image = new BufferedImage(MAP_SIZE, MAP_SIZE, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = image.createGraphics();
@@ -927,15 +982,22 @@ public class ImageGeneration {
         int ratio = (image.getWidth() - borderOffset * 2) / 128;
 
         if (colors != null) {
-            for (int widthOffset = 0; widthOffset < 128; widthOffset++) {
-                for (int heightOffset = 0; heightOffset < 128; heightOffset++) {
+            loadMapPalette();
+            int[] paletteColors = mapPaletteColors;
+            boolean[] paletteValid = mapPaletteValid;
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            int width = image.getWidth();
+            for (int heightOffset = 0; heightOffset < 128; heightOffset++) {
+                int rowStart = (heightOffset * ratio + borderOffset) * width + borderOffset;
+                for (int widthOffset = 0; widthOffset < 128; widthOffset++) {
                     byte index = colors[widthOffset + heightOffset * 128];
                     if (MapPalette.TRANSPARENT != index) {
-                        Color color = MapPalette.getColor(index);
-                        for (int x = 0; x < ratio; x++) {
-                            for (int y = 0; y < ratio; y++) {
-                                image.setRGB(widthOffset * ratio + borderOffset + x, heightOffset * ratio + borderOffset + y, color.getRGB());
-                            }
+                        int paletteIndex = index & 0xFF;
+                        int color = paletteValid[paletteIndex] ? paletteColors[paletteIndex] : MapPalette.getColor(index).getRGB();
+                        int start = rowStart + widthOffset * ratio;
+                        for (int y = 0; y < ratio; y++) {
+                            int offset = start + y * width;
+                            Arrays.fill(pixels, offset, offset + ratio, color);
                         }
                     }
                 }
@@ -945,14 +1007,13 @@ public class ImageGeneration {
         Graphics2D g2 = image.createGraphics();
         g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
 
-        BufferedImage asset = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.MAP_TEXTURE_LOCATION + "map_icons").getTexture();
+        BufferedImage asset = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.MAP_TEXTURE_LOCATION + "map_icons").getSharedTexture();
         int iconWidth = asset.getWidth() / MAP_ICON_PER_ROLE;
 
         if (mapCursors != null) {
             for (MapCursor icon : mapCursors) {
                 int x = icon.getX() + 128;
                 int y = icon.getY() + 128;
-                double rotation = (360.0 / 16.0 * (double) icon.getDirection()) + 180.0;
                 int type = icon.getType().ordinal();
                 Component component;
                 try {
@@ -962,21 +1023,7 @@ public class ImageGeneration {
                 }
 
                 //String name
-                BufferedImage iconImage = ImageUtils.copyAndGetSubImage(asset, type % MAP_ICON_PER_ROLE * iconWidth, type / MAP_ICON_PER_ROLE * iconWidth, iconWidth, iconWidth);
-                BufferedImage iconImageBig = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g3 = iconImageBig.createGraphics();
-                g3.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-                g3.drawImage(iconImage, iconImageBig.getWidth() / 6, iconImageBig.getHeight() / 6, 64, 64, null);
-                g3.dispose();
-                iconImage = iconImageBig;
-
-                BufferedImage iconCan = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
-
-                AffineTransform at = new AffineTransform();
-                at.rotate(Math.toRadians(rotation), iconImage.getWidth() / 2.0, iconImage.getHeight() / 2.0);
-                Graphics2D g2d = iconCan.createGraphics();
-                g2d.drawImage(iconImage, at, null);
-                g2d.dispose();
+                BufferedImage iconCan = getMapIcon(asset, iconWidth, type, icon.getDirection());
 
                 int imageX = x * ratio / 2 + borderOffset;
                 int imageY = y * ratio / 2 + borderOffset;
@@ -1130,92 +1177,116 @@ public class ImageGeneration {
         return output;
     }
 
-    public static BufferedImage getTabListImage(List<Component> header, List<Component> footer, List<ValueTrios<OfflineICPlayer, Component, Integer>> players, boolean showAvatar, boolean showPing) {
-        return getTabListImage(header, footer, players, showAvatar, showPing, TABLIST_PLAYER_DISPLAY_LIMIT);
+    private static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(supplier.get());
+        }
     }
 
-    public static BufferedImage getTabListImage(List<Component> header, List<Component> footer, List<ValueTrios<OfflineICPlayer, Component, Integer>> players, boolean showAvatar, boolean showPing, int maxPlayerDisplayed) {
-        players = players.subList(0, Math.min(players.size(), maxPlayerDisplayed));
-        List<ValueTrios<BufferedImage, Integer, Color>> playerImages = new ArrayList<>(players.size());
-        int masterOffsetX = 0;
-        for (ValueTrios<OfflineICPlayer, Component, Integer> trio : players) {
-            OfflineICPlayer player = trio.getFirst();
-            UUID uuid = player.getUniqueId();
-            Component name = trio.getSecond();
-            int ping = trio.getThird();
-            BufferedImage image = new BufferedImage(2048, TABLIST_INTERNAL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g = image.createGraphics();
-            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-            int offsetX = 0;
-            if (showAvatar) {
-                BufferedImage skin;
-                try {
-                    Player onlinePlayer = Bukkit.getPlayer(uuid);
-                    if (onlinePlayer == null) {
-                        CacheObject<?> cache = resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(uuid + "null" + PLAYER_SKIN_CACHE_KEY);
-                        if (cache == null) {
-                            String value = SkinUtils.getSkinURLFromUUID(uuid);
-                            skin = ImageUtils.downloadImage(value);
-                            resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).putCache(uuid + "null" + PLAYER_SKIN_CACHE_KEY, skin);
-                            skin = ImageUtils.copyImage(skin);
-                        } else {
-                            skin = ImageUtils.copyImage((BufferedImage) cache.getObject());
-                        }
-                    } else {
-                        try {
-                            JSONObject json = (JSONObject) new JSONParser().parse(SkinUtils.getSkinJsonFromProfile(onlinePlayer));
-                            String value = (String) ((JSONObject) ((JSONObject) json.get("textures")).get("SKIN")).get("url");
-                            CacheObject<?> cache = resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(uuid + value + PLAYER_SKIN_CACHE_KEY);
-                            if (cache == null) {
-                                skin = ImageUtils.downloadImage(value);
-                                resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).putCache(uuid + value + PLAYER_SKIN_CACHE_KEY, skin);
-                            } else {
-                                skin = (BufferedImage) cache.getObject();
-                            }
-                            skin = ImageUtils.copyImage(skin);
-                        } catch (Exception e) {
-                            String value = SkinUtils.getSkinURLFromUUID(uuid);
-                            skin = ImageUtils.downloadImage(value);
-                        }
-                    }
-                } catch (Exception e) {
-                    skin = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.DEFAULT_WIDE_SKIN_LOCATION).getTexture(64, 64);
-                }
-                BufferedImage avatar = ImageUtils.copyAndGetSubImage(skin, 8, 8, 8, 8);
-                BufferedImage avatarOverlay = ImageUtils.copyAndGetSubImage(skin, 40, 8, 8, 8);
-                if (ModelUtils.isRenderedUpsideDown(name)) {
-                    avatar = ImageUtils.rotateImageByDegrees(avatar, 180);
-                    avatarOverlay = ImageUtils.rotateImageByDegrees(avatarOverlay, 180);
-                }
-                g.drawImage(avatar, offsetX, (TABLIST_INTERNAL_HEIGHT - 18) / 2, 16, 16, null);
-                g.drawImage(avatarOverlay, offsetX, (TABLIST_INTERNAL_HEIGHT - 18) / 2, 16, 16, null);
-                offsetX += 18;
+    private static BufferedImage getTabListAvatar(UUID uuid) {
+        ICacheManager cacheManager = resourceManager.get().getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class);
+        String value = null;
+        Player onlinePlayer = Bukkit.getPlayer(uuid);
+        if (onlinePlayer != null) {
+            try {
+                JSONObject json = (JSONObject) new JSONParser().parse(SkinUtils.getSkinJsonFromProfile(onlinePlayer));
+                value = (String) ((JSONObject) ((JSONObject) json.get("textures")).get("SKIN")).get("url");
+            } catch (Exception ignore) {
+            }
+        }
+        CacheObject<?> avatarCache = cacheManager.getCache(uuid + String.valueOf(value) + PLAYER_AVATAR_CACHE_KEY);
+        if (avatarCache != null) {
+            return (BufferedImage) avatarCache.getObject();
+        }
+        BufferedImage skin;
+        boolean fallback = false;
+        try {
+            String skinKey = uuid + String.valueOf(value) + PLAYER_SKIN_CACHE_KEY;
+            CacheObject<?> cache = cacheManager.getCache(skinKey);
+            if (cache == null) {
+                skin = ImageUtils.downloadImage(value == null ? SkinUtils.getSkinURLFromUUID(uuid) : value);
+                cacheManager.putCache(skinKey, skin);
             } else {
-                offsetX += 2;
+                skin = (BufferedImage) cache.getObject();
             }
+        } catch (Exception e) {
+            skin = resourceManager.get().getTextureManager().getTexture(ResourceRegistry.DEFAULT_WIDE_SKIN_LOCATION).getTexture(64, 64);
+            fallback = true;
+        }
+        BufferedImage avatar = ImageUtils.copyAndGetSubImage(skin, 8, 8, 8, 8);
+        Graphics2D g = avatar.createGraphics();
+        g.drawImage(ImageUtils.copyAndGetSubImage(skin, 40, 8, 8, 8), 0, 0, null);
+        g.dispose();
+        if (!fallback) {
+            cacheManager.putCache(uuid + String.valueOf(value) + PLAYER_AVATAR_CACHE_KEY, avatar);
+        }
+        return avatar;
+    }
+
+    private static TabListRow getTabListRow(OfflineICPlayer player, Component name, int ping, BufferedImage avatar) {
+        int offsetX = avatar == null ? 2 : 18;
+        int topY = (TABLIST_INTERNAL_HEIGHT - 18) / 2 - 1;
+        int minWidth = InteractiveChatDiscordSrvAddon.plugin.playerlistCommandMinWidth;
+        Rectangle bounds = ImageUtils.getComponentBounds(resourceManager.get(), name, InteractiveChatDiscordSrvAddon.plugin.language, offsetX, topY, 16);
+        int width = 2048;
+        if (bounds != null) {
+            //leaves room for the text shadow
+            width = Math.min(width, Math.max(Math.max(offsetX, minWidth) + 1, bounds.x + bounds.width + 4));
+        }
+        BufferedImage image = new BufferedImage(width, TABLIST_INTERNAL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        if (avatar != null) {
+            if (ModelUtils.isRenderedUpsideDown(name)) {
+                avatar = ImageUtils.rotateImageByDegrees(avatar, 180);
+            }
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(avatar, 0, (TABLIST_INTERNAL_HEIGHT - 18) / 2, 16, 16, null);
             g.dispose();
-            ImageUtils.printComponent(resourceManager.get(), image, name, InteractiveChatDiscordSrvAddon.plugin.language, version.get().isLegacyRGB(), offsetX, (TABLIST_INTERNAL_HEIGHT - 18) / 2 - 1, 16);
-            int lastX = InteractiveChatDiscordSrvAddon.plugin.playerlistCommandMinWidth;
-            for (int x = InteractiveChatDiscordSrvAddon.plugin.playerlistCommandMinWidth; x < image.getWidth(); x++) {
-                for (int y = 0; y < image.getHeight(); y++) {
-                    if (image.getRGB(x, y) != 0) {
-                        lastX = x;
-                        break;
-                    }
+        }
+        ImageUtils.printComponent(resourceManager.get(), image, name, InteractiveChatDiscordSrvAddon.plugin.language, version.get().isLegacyRGB(), offsetX, topY, 16);
+        int lastX = minWidth;
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        columns:
+        for (int x = image.getWidth() - 1; x > minWidth; x--) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                if (pixels[y * width + x] != 0) {
+                    lastX = x;
+                    break columns;
                 }
             }
-            if (lastX > masterOffsetX) {
-                masterOffsetX = lastX;
+        }
+        Color color = null;
+        Object hex = player.getProperties().get("tab_background_color");
+        if (hex instanceof String) {
+            try {
+                color = Color.decode((String) hex);
+            } catch (NumberFormatException ignore) {
             }
-            Color color = null;
-            Object hex = player.getProperties().get("tab_background_color");
-            if (hex instanceof String) {
-                try {
-                    color = Color.decode((String) hex);
-                } catch (NumberFormatException ignore) {
-                }
+        }
+        return new TabListRow(image, lastX, ping, color);
+    }
+
+    public static BufferedImage getTabListImage(List<Component> header, List<Component> footer, List<ValueTrios<OfflineICPlayer, Component, Integer>> players, boolean showAvatar, boolean showPing) {
+        return getTabListImage(header, footer, players, showAvatar, showPing, TABLIST_PLAYER_DISPLAY_LIMIT);
+    }
+
+    public static BufferedImage getTabListImage(List<Component> header, List<Component> footer, List<ValueTrios<OfflineICPlayer, Component, Integer>> players, boolean showAvatar, boolean showPing, int maxPlayerDisplayed) {
+        players = players.subList(0, Math.min(players.size(), maxPlayerDisplayed));
+        List<CompletableFuture<TabListRow>> rowFutures = new ArrayList<>(players.size());
+        for (ValueTrios<OfflineICPlayer, Component, Integer> trio : players) {
+            CompletableFuture<BufferedImage> avatarFuture = showAvatar ? supplyAsync(() -> getTabListAvatar(trio.getFirst().getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.mediaReadingService) : CompletableFuture.completedFuture(null);
+            rowFutures.add(avatarFuture.thenCompose(avatar -> supplyAsync(() -> getTabListRow(trio.getFirst(), trio.getSecond(), trio.getThird(), avatar), InteractiveChatDiscordSrvAddon.plugin.contentRenderingService)));
+        }
+        List<TabListRow> playerImages = new ArrayList<>(rowFutures.size());
+        int masterOffsetX = 0;
+        for (CompletableFuture<TabListRow> future : rowFutures) {
+            TabListRow row = future.join();
+            if (row.getLastX() > masterOffsetX) {
+                masterOffsetX = row.getLastX();
             }
-            playerImages.add(new ValueTrios<>(image, ping, color));
+            playerImages.add(row);
         }
         List<BufferedImage> playerRows = new ArrayList<>(playerImages.size());
         if (showPing) {
@@ -1223,25 +1294,21 @@ public class ImageGeneration {
         } else {
             masterOffsetX += 2;
         }
-        for (ValueTrios<BufferedImage, Integer, Color> trio : playerImages) {
-            BufferedImage image = trio.getFirst();
-            if (showPing) {
-                BufferedImage ping = getPingIcon(trio.getSecond(), false);
-                Graphics2D g = image.createGraphics();
-                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-                g.drawImage(ImageUtils.resizeImageAbs(ping, 20, 16), masterOffsetX - 22, (TABLIST_INTERNAL_HEIGHT - 18) / 2, null);
-                g.dispose();
-            }
+        for (TabListRow row : playerImages) {
             BufferedImage cropped = new BufferedImage(masterOffsetX, TABLIST_INTERNAL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
             Graphics2D g = cropped.createGraphics();
             g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-            if (trio.getThird() == null) {
+            if (row.getColor() == null) {
                 g.setColor(TABLIST_PLAYER_BACKGROUND);
             } else {
-                g.setColor(trio.getThird());
+                g.setColor(row.getColor());
             }
             g.fillRect(0, (TABLIST_INTERNAL_HEIGHT - 18) / 2, cropped.getWidth(), 16);
-            g.drawImage(image, 0, 0, null);
+            g.drawImage(row.getImage(), 0, 0, null);
+            if (showPing) {
+                BufferedImage ping = getPingIcon(row.getPing(), false);
+                g.drawImage(ImageUtils.resizeImageAbs(ping, 20, 16), masterOffsetX - 22, (TABLIST_INTERNAL_HEIGHT - 18) / 2, null);
+            }
             g.dispose();
             playerRows.add(cropped);
         }
@@ -1670,4 +1737,52 @@ public class ImageGeneration {
 
     }
 
-}
\ No newline at end of file
+    private static class TabListRow {
+
+        private final BufferedImage image;
+        private final int lastX;
+        private final int ping;
+        private final Color color;
+
+        private TabListRow(BufferedImage image, int lastX, int ping, Color color) {
+            this.image = image;
+            this.lastX = lastX;
+            this.ping = ping;
+            this.color = color;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public int getLastX() {
+            return lastX;
+        }
+
+        public int getPing() {
+            return ping;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+    }
+
+    /**
+     * Icons are only ever stored next to the asset they were cut from, a render
+     * still holding the previous resource pack's asset cannot refill the current cache.
+     */
+    private static class MapIconCache {
+
+        private final BufferedImage asset;
+        private final Map<Integer, BufferedImage> icons;
+
+        private MapIconCache(BufferedImage asset) {
+            this.asset = asset;
+            this.icons = new ConcurrentHashMap<>();
+        }
+
+    }
+
+}
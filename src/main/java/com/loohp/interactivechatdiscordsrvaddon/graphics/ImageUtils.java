@@ -27,10 +27,12 @@ import com.loohp.interactivechat.libs.net.kyori.adventure.text.serializer.plain.
 import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.ComponentFlattening;
 import com.loohp.interactivechat.utils.ComponentModernizing;
+import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.HashUtils;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.CharacterData;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceManager;
 import com.loohp.interactivechatdiscordsrvaddon.resources.fonts.MinecraftFont;
+import com.loohp.interactivechatdiscordsrvaddon.resources.fonts.MinecraftFont.FontMeasureResult;
 import com.loohp.interactivechatdiscordsrvaddon.resources.fonts.MinecraftFont.FontRenderResult;
 import com.loohp.interactivechatdiscordsrvaddon.resources.languages.LanguageMeta;
 import com.loohp.interactivechatdiscordsrvaddon.utils.ComponentStringUtils;
@@ -40,6 +42,7 @@ import it.unimi.dsi.fastutil.chars.CharObjectPair;
 import javax.imageio.ImageIO;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
@@ -49,6 +52,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 
@@ -65,9 +69,15 @@ public class ImageUtils {
     public static final double CHAT_COLOR_BACKGROUND_FACTOR = 0.19;
     private static final double[] GAUSSIAN_CONSTANTS = new double[] {0.00598, 0.060626, 0.241843, 0.383103, 0.241843, 0.060626, 0.00598};
 
+    private static final PngEncoder PNG_ENCODER = new PngEncoder();
+
+    public static PngEncoder getPngEncoder() {
+        return PNG_ENCODER;
+    }
+
     public static ByteArrayOutputStream toOutputStream(BufferedImage image) throws IOException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", outputStream);
+        PNG_ENCODER.encode(image, outputStream);
         return outputStream;
     }
 
@@ -618,33 +628,34 @@ public class ImageUtils {
     }
 
     public static ComponentPrintResult printComponentGlowing(ResourceManager manager, BufferedImage image, Component component, String language, boolean legacyRGB, int topX, int topY, float fontSize) {
-        BufferedImage temp = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        ComponentPrintResult printResult = printComponent0(manager, temp, component, language, legacyRGB, topX, topY, fontSize, 1);
-        temp = printResult.getImage();
-        Graphics2D g = image.createGraphics();
-        BufferedImage shadow = transformRGB(copyImage(temp), (x, y, color) -> {
-            int alpha = getAlpha(color);
-            if (alpha <= 0) {
-                return color;
-            }
-            if ((color & 0x00ffffff) == 0) {
-                return -988212;
-            }
-            int red = (int) (getRed(color) * 0.4);
-            int green = (int) (getGreen(color) * 0.4);
-            int blue = (int) (getBlue(color) * 0.4);
-            return getIntFromColor(red, green, blue, alpha);
-        });
-        for (int x = -1; x <= 1; x++) {
-            for (int y = -1; y <= 1; y++) {
-                if (x != 0 || y != 0) {
-                    g.drawImage(shadow, (int) (fontSize * 0.15) * x, (int) (fontSize * 0.15) * y, null);
+        TextRaster raster = rasterizeComponent(manager, image.getWidth(), image.getHeight(), component, language, topX, topY, fontSize);
+        if (raster.isVisible()) {
+            BufferedImage temp = copyImage(raster.getImage());
+            Graphics2D g = image.createGraphics();
+            BufferedImage shadow = transformRGB(copyImage(temp), (x, y, color) -> {
+                int alpha = getAlpha(color);
+                if (alpha <= 0) {
+                    return color;
+                }
+                if ((color & 0x00ffffff) == 0) {
+                    return -988212;
+                }
+                int red = (int) (getRed(color) * 0.4);
+                int green = (int) (getGreen(color) * 0.4);
+                int blue = (int) (getBlue(color) * 0.4);
+                return getIntFromColor(red, green, blue, alpha);
+            });
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    if (x != 0 || y != 0) {
+                        g.drawImage(shadow, raster.getX() + (int) (fontSize * 0.15) * x, raster.getY() + (int) (fontSize * 0.15) * y, null);
+                    }
                 }
             }
+            g.drawImage(temp, raster.getX(), raster.getY(), null);
+            g.dispose();
         }
-        g.drawImage(temp, 0, 0, null);
-        g.dispose();
-        return new ComponentPrintResult(image, printResult.getTextWidth());
+        return new ComponentPrintResult(image, raster.getTextWidth());
     }
 
     public static ComponentPrintResult printComponentShadowless(ResourceManager manager, BufferedImage image, Component component, String language, boolean legacyRGB, int topX, int topY, float fontSize) {
@@ -656,29 +667,115 @@ public class ImageUtils {
     }
 
     public static ComponentPrintResult printComponent(ResourceManager manager, BufferedImage image, Component component, String language, boolean legacyRGB, int topX, int topY, float fontSize, double shadowFactor) {
-        BufferedImage temp = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        ComponentPrintResult printResult = printComponent0(manager, temp, component, language, legacyRGB, topX, topY, fontSize, 1);
-        temp = printResult.getImage();
-        Graphics2D g = image.createGraphics();
-        if (shadowFactor != 0) {
-            BufferedImage shadow = multiply(copyImage(temp), shadowFactor);
-            g.drawImage(shadow, (int) (fontSize * 0.15), (int) (fontSize * 0.15), null);
+        TextRaster raster = rasterizeComponent(manager, image.getWidth(), image.getHeight(), component, language, topX, topY, fontSize);
+        if (raster.isVisible()) {
+            BufferedImage temp = copyImage(raster.getImage());
+            Graphics2D g = image.createGraphics();
+            if (shadowFactor != 0) {
+                BufferedImage shadow = multiply(copyImage(temp), shadowFactor);
+                g.drawImage(shadow, raster.getX() + (int) (fontSize * 0.15), raster.getY() + (int) (fontSize * 0.15), null);
+            }
+            g.drawImage(temp, raster.getX(), raster.getY(), null);
+            g.dispose();
         }
-        g.drawImage(temp, 0, 0, null);
-        g.dispose();
-        return new ComponentPrintResult(image, printResult.getTextWidth());
+        return new ComponentPrintResult(image, raster.getTextWidth());
     }
 
     private static ComponentPrintResult printComponent0(ResourceManager manager, BufferedImage image, Component component, String language, boolean legacyRGB, int topX, int topY, float fontSize, double factor) {
-        Component text = ComponentFlattening.flatten(ComponentStringUtils.resolve(ComponentModernizing.modernize(component), manager.getLanguageManager().getTranslateFunction().ofLanguage(language)));
-
-        BufferedImage textImage = new BufferedImage(image.getWidth(), image.getHeight() * 2, BufferedImage.TYPE_INT_ARGB);
-        LanguageMeta languageMeta = manager.getLanguageManager().getLanguageMeta(language);
-        List<CharObjectPair<CharacterData>> data = I18nUtils.bidirectionalReorder(text, languageMeta.isBidirectional());
+        TextRaster raster = rasterizeComponent(manager, image.getWidth(), image.getHeight(), component, language, topX, topY, fontSize);
+        if (raster.isVisible()) {
+            Graphics2D g = image.createGraphics();
+            g.drawImage(raster.getImage(), raster.getX(), raster.getY(), null);
+            g.dispose();
+        }
+        return new ComponentPrintResult(image, raster.getTextWidth());
+    }
+
+    /*
+     * Text is drawn in two passes. The first pass measures the glyph run so the second pass only needs a buffer covering the drawn area.
+     * The buffer keeps every glyph at non-negative coordinates and is cropped to the same area as the former full-canvas buffer,
+     * so composites are pixel identical to drawing through a canvas of the destination size.
+     */
+    private static TextRaster rasterizeComponent(ResourceManager manager, int width, int height, Component component, String language, int topX, int topY, float fontSize) {
+        List<ValuePairs<String, CharacterData>> characters = getCharacters(manager, component, language);
+
+        int baselineY = topY + 1;
+        Rectangle clip = new Rectangle(0, topY - height, width, height * 2).intersection(new Rectangle(0, 0, width, height));
+        Rectangle bounds = measureComponent(manager, characters, topX, baselineY, fontSize);
+        if (bounds == null) {
+            bounds = new Rectangle(0, topY - height, width, height * 2);
+        } else {
+            bounds.grow(1, 1);
+        }
+        int left = Math.max(bounds.x, clip.x);
+        int right = Math.min(bounds.x + bounds.width, clip.x + clip.width);
+        int bottom = Math.min(bounds.y + bounds.height, clip.y + clip.height);
+        Rectangle region = new Rectangle(left, bounds.y, right - left, bottom - bounds.y);
+        Rectangle visible = region.intersection(clip);
 
+        BufferedImage textImage = new BufferedImage(Math.max(1, region.width), Math.max(1, region.height), BufferedImage.TYPE_INT_ARGB);
         int x = topX;
         int lastItalicExtraWidth = 0;
         int lastSpaceWidth = 0;
+        for (ValuePairs<String, CharacterData> pair : characters) {
+            String character = pair.getFirst();
+            CharacterData characterData = pair.getSecond();
+            MinecraftFont fontProvider = manager.getFontManager().getFontProviders(characterData.getFont()).forCharacter(character);
+            FontRenderResult result = fontProvider.printCharacter(textImage, character, x - region.x, baselineY - region.y, fontSize, lastItalicExtraWidth, characterData.getColor(), characterData.getDecorations());
+            textImage = result.getImage();
+            x += result.getWidth() + (lastSpaceWidth = result.getSpaceWidth());
+            lastItalicExtraWidth = result.getItalicExtraWidth();
+        }
+        int textWidth = x - lastSpaceWidth;
+
+        if (visible.isEmpty()) {
+            return new TextRaster(null, 0, 0, textWidth);
+        }
+        if (!visible.equals(region)) {
+            textImage = textImage.getSubimage(visible.x - region.x, visible.y - region.y, visible.width, visible.height);
+        }
+        return new TextRaster(textImage, visible.x, visible.y, textWidth);
+    }
+
+    /*
+     * Returns the area printComponent would draw glyphs into, excluding the shadow offset, or null if any glyph cannot be measured up front.
+     */
+    public static Rectangle getComponentBounds(ResourceManager manager, Component component, String language, int topX, int topY, float fontSize) {
+        Rectangle bounds = measureComponent(manager, getCharacters(manager, component, language), topX, topY + 1, fontSize);
+        if (bounds != null) {
+            bounds.grow(1, 1);
+        }
+        return bounds;
+    }
+
+    private static List<ValuePairs<String, CharacterData>> getCharacters(ResourceManager manager, Component component, String language) {
+        Component text = ComponentFlattening.flatten(ComponentStringUtils.resolve(ComponentModernizing.modernize(component), manager.getLanguageManager().getTranslateFunction().ofLanguage(language)));
+        LanguageMeta languageMeta = manager.getLanguageManager().getLanguageMeta(language);
+        return splitCharacters(I18nUtils.bidirectionalReorder(text, languageMeta.isBidirectional()));
+    }
+
+    private static Rectangle measureComponent(ResourceManager manager, List<ValuePairs<String, CharacterData>> characters, int x, int y, float fontSize) {
+        Rectangle bounds = null;
+        int lastItalicExtraWidth = 0;
+        for (ValuePairs<String, CharacterData> pair : characters) {
+            String character = pair.getFirst();
+            CharacterData characterData = pair.getSecond();
+            MinecraftFont fontProvider = manager.getFontManager().getFontProviders(characterData.getFont()).forCharacter(character);
+            FontMeasureResult result = fontProvider.measureCharacter(character, x, y, fontSize, lastItalicExtraWidth, characterData.getColor(), characterData.getDecorations());
+            if (result == null) {
+                return null;
+            }
+            if (result.hasBounds()) {
+                bounds = bounds == null ? new Rectangle(result.getBounds()) : bounds.union(result.getBounds());
+            }
+            x += result.getWidth() + result.getSpaceWidth();
+            lastItalicExtraWidth = result.getItalicExtraWidth();
+        }
+        return bounds == null ? new Rectangle(x, y, 0, 0) : bounds;
+    }
+
+    private static List<ValuePairs<String, CharacterData>> splitCharacters(List<CharObjectPair<CharacterData>> data) {
+        List<ValuePairs<String, CharacterData>> characters = new ArrayList<>(data.size());
         String character = null;
         for (int i = 0; i < data.size(); i++) {
             CharObjectPair<CharacterData> pair = data.get(i);
@@ -693,18 +790,46 @@ public class ImageUtils {
             } else {
                 character += String.valueOf(c);
             }
-            CharacterData characterData = pair.right();
-            MinecraftFont fontProvider = manager.getFontManager().getFontProviders(characterData.getFont()).forCharacter(character);
-            FontRenderResult result = fontProvider.printCharacter(textImage, character, x, 1 + image.getHeight(), fontSize, lastItalicExtraWidth, characterData.getColor(), characterData.getDecorations());
-            textImage = result.getImage();
-            x += result.getWidth() + (lastSpaceWidth = result.getSpaceWidth());
-            lastItalicExtraWidth = result.getItalicExtraWidth();
+            characters.add(new ValuePairs<>(character, pair.right()));
             character = null;
         }
-        Graphics2D g = image.createGraphics();
-        g.drawImage(textImage, 0, topY - image.getHeight(), null);
-        g.dispose();
-        return new ComponentPrintResult(image, x - lastSpaceWidth);
+        return characters;
+    }
+
+    private static class TextRaster {
+
+        private final BufferedImage image;
+        private final int x;
+        private final int y;
+        private final int textWidth;
+
+        private TextRaster(BufferedImage image, int x, int y, int textWidth) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.textWidth = textWidth;
+        }
+
+        public boolean isVisible() {
+            return image != null;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getTextWidth() {
+            return textWidth;
+        }
+
     }
 
     public static class ComponentPrintResult {
@@ -0,0 +1,199 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.graphics;
+
+import org.bukkit.map.MapPalette;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+@SuppressWarnings("deprecation")
+public class MapQuantizer {
+
+    public static final int LOOKUP_BITS = 6;
+
+    private static final int LOOKUP_SHIFT = 8 - LOOKUP_BITS;
+    private static final int LOOKUP_SIZE = 1 << LOOKUP_BITS;
+    private static final int[] BAYER_MATRIX = {0, 8, 2, 10, 12, 4, 14, 6, 3, 11, 1, 9, 15, 7, 13, 5};
+    private static final int ORDERED_SPREAD = 32;
+
+    private static volatile MapQuantizer instance = null;
+
+    public static MapQuantizer getInstance() {
+        MapQuantizer quantizer = instance;
+        if (quantizer == null) {
+            synchronized (MapQuantizer.class) {
+                quantizer = instance;
+                if (quantizer == null) {
+                    instance = quantizer = new MapQuantizer();
+                }
+            }
+        }
+        return quantizer;
+    }
+
+    private final int[] paletteColors;
+    private final byte[] lookup;
+
+    private MapQuantizer() {
+        int[] colors = new int[256];
+        int[] indices = new int[256];
+        int count = 0;
+        for (int i = 4; i < 256; i++) {
+            try {
+                colors[i] = MapPalette.getColor((byte) i).getRGB();
+                indices[count++] = i;
+            } catch (Throwable ignore) {
+            }
+        }
+        int[] reds = new int[count];
+        int[] greens = new int[count];
+        int[] blues = new int[count];
+        for (int i = 0; i < count; i++) {
+            int color = colors[indices[i]];
+            reds[i] = (color >> 16) & 0xFF;
+            greens[i] = (color >> 8) & 0xFF;
+            blues[i] = color & 0xFF;
+        }
+        this.paletteColors = colors;
+        this.lookup = new byte[LOOKUP_SIZE * LOOKUP_SIZE * LOOKUP_SIZE];
+        int half = (1 << LOOKUP_SHIFT) >> 1;
+        for (int r = 0; r < LOOKUP_SIZE; r++) {
+            int red = (r << LOOKUP_SHIFT) | half;
+            for (int g = 0; g < LOOKUP_SIZE; g++) {
+                int green = (g << LOOKUP_SHIFT) | half;
+                for (int b = 0; b < LOOKUP_SIZE; b++) {
+                    int blue = (b << LOOKUP_SHIFT) | half;
+                    int index = 0;
+                    double best = Double.MAX_VALUE;
+                    for (int i = 0; i < count; i++) {
+                        double rmean = (red + reds[i]) / 2.0;
+                        int dr = red - reds[i];
+                        int dg = green - greens[i];
+                        int db = blue - blues[i];
+                        double distance = (2 + rmean / 256.0) * dr * dr + 4 * dg * dg + (2 + (255 - rmean) / 256.0) * db * db;
+                        if (distance < best) {
+                            best = distance;
+                            index = indices[i];
+                        }
+                    }
+                    lookup[(r << (LOOKUP_BITS * 2)) | (g << LOOKUP_BITS) | b] = (byte) index;
+                }
+            }
+        }
+    }
+
+    public byte matchColor(int argb) {
+        if ((argb >>> 24) < 128) {
+            return MapPalette.TRANSPARENT;
+        }
+        return lookup(clamp((argb >> 16) & 0xFF), clamp((argb >> 8) & 0xFF), clamp(argb & 0xFF));
+    }
+
+    public int getColor(byte index) {
+        return paletteColors[index & 0xFF];
+    }
+
+    public byte[] quantize(BufferedImage image, Dithering dithering) {
+        byte[] output = new byte[image.getWidth() * image.getHeight()];
+        quantize(image, dithering, output, 0);
+        return output;
+    }
+
+    public void quantize(BufferedImage image, Dithering dithering, byte[] output, int offsetY) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        int outputOffset = offsetY * width;
+        switch (dithering) {
+            case ORDERED:
+                for (int y = 0; y < height; y++) {
+                    int row = ((y + offsetY) & 3) << 2;
+                    for (int x = 0; x < width; x++) {
+                        int i = y * width + x;
+                        int argb = pixels[i];
+                        if ((argb >>> 24) < 128) {
+                            output[outputOffset + i] = MapPalette.TRANSPARENT;
+                            continue;
+                        }
+                        int threshold = (BAYER_MATRIX[row | (x & 3)] * 2 - 15) * ORDERED_SPREAD / 32;
+                        output[outputOffset + i] = lookup(clamp(((argb >> 16) & 0xFF) + threshold), clamp(((argb >> 8) & 0xFF) + threshold), clamp((argb & 0xFF) + threshold));
+                    }
+                }
+                break;
+            case FLOYD_STEINBERG:
+                int[] currentErrors = new int[(width + 2) * 3];
+                int[] nextErrors = new int[(width + 2) * 3];
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        int i = y * width + x;
+                        int argb = pixels[i];
+                        if ((argb >>> 24) < 128) {
+                            output[outputOffset + i] = MapPalette.TRANSPARENT;
+                            continue;
+                        }
+                        int e = (x + 1) * 3;
+                        int r = clamp(((argb >> 16) & 0xFF) + (currentErrors[e] >> 4));
+                        int g = clamp(((argb >> 8) & 0xFF) + (currentErrors[e + 1] >> 4));
+                        int b = clamp((argb & 0xFF) + (currentErrors[e + 2] >> 4));
+                        byte index = lookup(r, g, b);
+                        output[outputOffset + i] = index;
+                        int color = paletteColors[index & 0xFF];
+                        diffuse(currentErrors, nextErrors, e, r - ((color >> 16) & 0xFF));
+                        diffuse(currentErrors, nextErrors, e + 1, g - ((color >> 8) & 0xFF));
+                        diffuse(currentErrors, nextErrors, e + 2, b - (color & 0xFF));
+                    }
+                    int[] swap = currentErrors;
+                    currentErrors = nextErrors;
+                    nextErrors = swap;
+                    Arrays.fill(nextErrors, 0);
+                }
+                break;
+            default:
+                for (int i = 0; i < pixels.length; i++) {
+                    output[outputOffset + i] = matchColor(pixels[i]);
+                }
+                break;
+        }
+    }
+
+    private static void diffuse(int[] currentErrors, int[] nextErrors, int e, int error) {
+        currentErrors[e + 3] += error * 7;
+        nextErrors[e - 3] += error * 3;
+        nextErrors[e] += error * 5;
+        nextErrors[e + 3] += error;
+    }
+
+    private byte lookup(int r, int g, int b) {
+        return lookup[((r >> LOOKUP_SHIFT) << (LOOKUP_BITS * 2)) | ((g >> LOOKUP_SHIFT) << LOOKUP_BITS) | (b >> LOOKUP_SHIFT)];
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    public enum Dithering {
+
+        NONE, ORDERED, FLOYD_STEINBERG;
+
+    }
+
+}
@@ -0,0 +1,456 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.graphics;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class PngEncoder {
+
+    public static final int DEFAULT_COMPRESSION_LEVEL = 4;
+    public static final int MIN_PARALLEL_BLOCK_SIZE = 128 * 1024;
+
+    private static final byte[] SIGNATURE = new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int DICTIONARY_SIZE = 32768;
+    private static final int MAX_PALETTE_SIZE = 256;
+
+    private static final int COLOR_TYPE_RGB = 2;
+    private static final int COLOR_TYPE_INDEXED = 3;
+    private static final int COLOR_TYPE_RGBA = 6;
+
+    private static final int FILTER_NONE = 0;
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+    private static final int FILTER_AVERAGE = 3;
+    private static final int FILTER_PAETH = 4;
+
+    private volatile int compressionLevel;
+    private volatile Executor executor;
+
+    public PngEncoder() {
+        this(DEFAULT_COMPRESSION_LEVEL, null);
+    }
+
+    public PngEncoder(int compressionLevel, Executor executor) {
+        setCompressionLevel(compressionLevel);
+        this.executor = executor;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, compressionLevel));
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encode(image, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public void encode(BufferedImage image, OutputStream outputStream) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        boolean opaque = true;
+        for (int i = 0; i < pixels.length; i++) {
+            int pixel = pixels[i];
+            int alpha = pixel >>> 24;
+            if (alpha == 0) {
+                pixels[i] = 0;
+                opaque = false;
+            } else if (alpha != 255) {
+                opaque = false;
+            }
+        }
+
+        int level = compressionLevel;
+        Int2IntOpenHashMap paletteIndex = createPaletteIndex(pixels);
+        byte[] filtered;
+        int colorType;
+        int bitDepth;
+        int[] palette = null;
+        if (paletteIndex != null) {
+            palette = createPalette(paletteIndex);
+            int size = palette.length;
+            bitDepth = size <= 2 ? 1 : (size <= 4 ? 2 : (size <= 16 ? 4 : 8));
+            colorType = COLOR_TYPE_INDEXED;
+            filtered = packIndexed(pixels, width, height, paletteIndex, bitDepth);
+        } else {
+            colorType = opaque ? COLOR_TYPE_RGB : COLOR_TYPE_RGBA;
+            bitDepth = 8;
+            filtered = filterTrueColor(pixels, width, height, opaque ? 3 : 4);
+        }
+        byte[] compressed = compress(filtered, filtered.length / height, level, colorType == COLOR_TYPE_INDEXED ? Deflater.DEFAULT_STRATEGY : Deflater.FILTERED);
+
+        outputStream.write(SIGNATURE);
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = (byte) bitDepth;
+        header[9] = (byte) colorType;
+        header[10] = 0;
+        header[11] = 0;
+        header[12] = 0;
+        writeChunk(outputStream, "IHDR", header, header.length);
+        if (palette != null) {
+            byte[] plte = new byte[palette.length * 3];
+            int transparentCount = 0;
+            for (int i = 0; i < palette.length; i++) {
+                int color = palette[i];
+                plte[i * 3] = (byte) (color >> 16);
+                plte[i * 3 + 1] = (byte) (color >> 8);
+                plte[i * 3 + 2] = (byte) color;
+                if ((color >>> 24) != 255) {
+                    transparentCount = i + 1;
+                }
+            }
+            writeChunk(outputStream, "PLTE", plte, plte.length);
+            if (transparentCount > 0) {
+                byte[] trns = new byte[transparentCount];
+                for (int i = 0; i < transparentCount; i++) {
+                    trns[i] = (byte) (palette[i] >>> 24);
+                }
+                writeChunk(outputStream, "tRNS", trns, trns.length);
+            }
+        }
+        writeChunk(outputStream, "IDAT", compressed, compressed.length);
+        writeChunk(outputStream, "IEND", new byte[0], 0);
+    }
+
+    private Int2IntOpenHashMap createPaletteIndex(int[] pixels) {
+        Int2IntOpenHashMap paletteIndex = new Int2IntOpenHashMap(MAX_PALETTE_SIZE * 2);
+        paletteIndex.defaultReturnValue(-1);
+        int last = pixels.length > 0 ? ~pixels[0] : 0;
+        for (int pixel : pixels) {
+            if (pixel == last) {
+                continue;
+            }
+            last = pixel;
+            if (paletteIndex.putIfAbsent(pixel, 0) == -1 && paletteIndex.size() > MAX_PALETTE_SIZE) {
+                return null;
+            }
+        }
+        return paletteIndex;
+    }
+
+    private int[] createPalette(Int2IntOpenHashMap paletteIndex) {
+        //translucent entries go first so that the tRNS chunk can stop at the last of them
+        int[] palette = paletteIndex.keySet().toIntArray();
+        Arrays.sort(palette);
+        int[] ordered = new int[palette.length];
+        int i = 0;
+        for (int color : palette) {
+            if ((color >>> 24) != 255) {
+                ordered[i++] = color;
+            }
+        }
+        for (int color : palette) {
+            if ((color >>> 24) == 255) {
+                ordered[i++] = color;
+            }
+        }
+        for (i = 0; i < ordered.length; i++) {
+            paletteIndex.put(ordered[i], i);
+        }
+        return ordered;
+    }
+
+    private byte[] packIndexed(int[] pixels, int width, int height, Int2IntOpenHashMap paletteIndex, int bitDepth) {
+        int rowLength = (width * bitDepth + 7) / 8 + 1;
+        byte[] data = new byte[rowLength * height];
+        int pixelsPerByte = 8 / bitDepth;
+        for (int y = 0; y < height; y++) {
+            int offset = y * rowLength;
+            data[offset++] = FILTER_NONE;
+            int pixelOffset = y * width;
+            if (bitDepth == 8) {
+                for (int x = 0; x < width; x++) {
+                    data[offset + x] = (byte) paletteIndex.get(pixels[pixelOffset + x]);
+                }
+            } else {
+                for (int x = 0; x < width; x++) {
+                    int shift = 8 - bitDepth * (x % pixelsPerByte + 1);
+                    data[offset + x / pixelsPerByte] |= (byte) (paletteIndex.get(pixels[pixelOffset + x]) << shift);
+                }
+            }
+        }
+        return data;
+    }
+
+    private byte[] filterTrueColor(int[] pixels, int width, int height, int bytesPerPixel) throws IOException {
+        int rowLength = width * bytesPerPixel + 1;
+        byte[] data = new byte[rowLength * height];
+        int blockRows = Math.max(1, MIN_PARALLEL_BLOCK_SIZE / rowLength);
+        int blocks = (height + blockRows - 1) / blockRows;
+        FutureTask<?>[] tasks = new FutureTask<?>[blocks];
+        for (int i = 0; i < blocks; i++) {
+            int startY = i * blockRows;
+            int endY = Math.min(height, startY + blockRows);
+            tasks[i] = fork(() -> {
+                filterRows(pixels, width, bytesPerPixel, startY, endY, data, rowLength);
+                return null;
+            }, blocks > 1);
+        }
+        for (FutureTask<?> task : tasks) {
+            join(task);
+        }
+        return data;
+    }
+
+    private static void filterRows(int[] pixels, int width, int bytesPerPixel, int startY, int endY, byte[] data, int rowLength) {
+        int length = rowLength - 1;
+        byte[] previous = new byte[length];
+        byte[] current = new byte[length];
+        byte[][] candidates = new byte[5][length];
+        if (startY > 0) {
+            toRow(pixels, width, bytesPerPixel, startY - 1, previous);
+        }
+        for (int y = startY; y < endY; y++) {
+            toRow(pixels, width, bytesPerPixel, y, current);
+            int best = FILTER_NONE;
+            long bestSum = Long.MAX_VALUE;
+            for (int filter = FILTER_NONE; filter <= FILTER_PAETH; filter++) {
+                byte[] candidate = candidates[filter];
+                long sum = applyFilter(filter, current, previous, candidate, bytesPerPixel, bestSum);
+                if (sum < bestSum) {
+                    bestSum = sum;
+                    best = filter;
+                }
+            }
+            int offset = y * rowLength;
+            data[offset] = (byte) best;
+            System.arraycopy(candidates[best], 0, data, offset + 1, length);
+            byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+    }
+
+    private static void toRow(int[] pixels, int width, int bytesPerPixel, int y, byte[] row) {
+        int pixelOffset = y * width;
+        for (int x = 0, i = 0; x < width; x++) {
+            int pixel = pixels[pixelOffset + x];
+            row[i++] = (byte) (pixel >> 16);
+            row[i++] = (byte) (pixel >> 8);
+            row[i++] = (byte) pixel;
+            if (bytesPerPixel == 4) {
+                row[i++] = (byte) (pixel >>> 24);
+            }
+        }
+    }
+
+    private static long applyFilter(int filter, byte[] current, byte[] previous, byte[] output, int bpp, long limit) {
+        //returns the sum of absolute signed values, the usual heuristic for picking a filter, and bails out once it exceeds the current best
+        long sum = 0;
+        int length = current.length;
+        switch (filter) {
+            case FILTER_NONE:
+                for (int i = 0; i < length; i++) {
+                    byte value = current[i];
+                    output[i] = value;
+                    sum += Math.abs(value);
+                }
+                return sum;
+            case FILTER_SUB:
+                for (int i = 0; i < length; i++) {
+                    byte value = (byte) (current[i] - (i >= bpp ? current[i - bpp] : 0));
+                    output[i] = value;
+                    sum += Math.abs(value);
+                }
+                return sum;
+            case FILTER_UP:
+                for (int i = 0; i < length; i++) {
+                    byte value = (byte) (current[i] - previous[i]);
+                    output[i] = value;
+                    sum += Math.abs(value);
+                }
+                return sum;
+            case FILTER_AVERAGE:
+                for (int i = 0; i < length && sum < limit; i++) {
+                    int a = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    byte value = (byte) (current[i] - ((a + (previous[i] & 0xFF)) >>> 1));
+                    output[i] = value;
+                    sum += Math.abs(value);
+                }
+                return sum;
+            case FILTER_PAETH:
+                for (int i = 0; i < length && sum < limit; i++) {
+                    int a = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    byte value = (byte) (current[i] - paeth(a, previous[i] & 0xFF, c));
+                    output[i] = value;
+                    sum += Math.abs(value);
+                }
+                return sum;
+            default:
+                throw new IllegalArgumentException("Unknown filter " + filter);
+        }
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        } else if (pb <= pc) {
+            return b;
+        }
+        return c;
+    }
+
+    private byte[] compress(byte[] data, int rowLength, int level, int strategy) throws IOException {
+        //independent raw deflate streams primed with the preceding 32K as dictionary, joined with sync flushes into one zlib stream
+        int blockSize = Math.max(1, MIN_PARALLEL_BLOCK_SIZE / rowLength) * rowLength;
+        int blocks = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        @SuppressWarnings("unchecked")
+        FutureTask<byte[]>[] tasks = new FutureTask[blocks];
+        for (int i = 0; i < blocks; i++) {
+            int start = i * blockSize;
+            int end = Math.min(data.length, start + blockSize);
+            boolean last = i == blocks - 1;
+            tasks[i] = fork(() -> deflate(data, start, end, last, level, strategy), blocks > 1);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length / 2 + 64);
+        outputStream.write(0x78);
+        outputStream.write(level <= 1 ? 0x01 : (level <= 5 ? 0x5E : (level == 6 ? 0x9C : 0xDA)));
+        for (FutureTask<byte[]> task : tasks) {
+            outputStream.write(join(task));
+        }
+        Adler32 adler32 = new Adler32();
+        adler32.update(data, 0, data.length);
+        long checksum = adler32.getValue();
+        outputStream.write((int) (checksum >>> 24));
+        outputStream.write((int) (checksum >>> 16));
+        outputStream.write((int) (checksum >>> 8));
+        outputStream.write((int) checksum);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, int start, int end, boolean last, int level, int strategy) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setStrategy(strategy);
+            if (start > 0) {
+                int dictionaryStart = Math.max(0, start - DICTIONARY_SIZE);
+                deflater.setDictionary(data, dictionaryStart, start - dictionaryStart);
+            }
+            deflater.setInput(data, start, end - start);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream((end - start) / 2 + 64);
+            byte[] buffer = new byte[16384];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    outputStream.write(buffer, 0, length);
+                }
+            } else {
+                int length;
+                do {
+                    length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    outputStream.write(buffer, 0, length);
+                } while (length == buffer.length || !deflater.needsInput());
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private <T> FutureTask<T> fork(Callable<T> callable, boolean parallel) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        Executor executor = this.executor;
+        if (parallel && executor != null) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ignore) {
+            }
+        }
+        return task;
+    }
+
+    private static <T> T join(FutureTask<T> task) throws IOException {
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void writeInt(byte[] array, int offset, int value) {
+        array[offset] = (byte) (value >>> 24);
+        array[offset + 1] = (byte) (value >>> 16);
+        array[offset + 2] = (byte) (value >>> 8);
+        array[offset + 3] = (byte) value;
+    }
+
+    private static void writeChunk(OutputStream outputStream, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] lengthBytes = new byte[4];
+        writeInt(lengthBytes, 0, length);
+        outputStream.write(lengthBytes);
+        outputStream.write(typeBytes);
+        outputStream.write(data, 0, length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(typeBytes);
+        crc32.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        writeInt(crcBytes, 0, (int) crc32.getValue());
+        outputStream.write(crcBytes);
+    }
+
+}
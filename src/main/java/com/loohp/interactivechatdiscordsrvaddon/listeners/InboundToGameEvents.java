@@ -29,16 +29,16 @@ import com.loohp.interactivechat.libs.net.kyori.adventure.text.serializer.legacy
 import com.loohp.interactivechat.objectholders.ICPlaceholder;
 import com.loohp.interactivechat.utils.ComponentReplacing;
 import com.loohp.interactivechat.utils.CustomStringUtils;
-import com.loohp.interactivechat.utils.HTTPRequestUtils;
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
 import com.loohp.interactivechatdiscordsrvaddon.api.events.DiscordAttachmentConversionEvent;
 import com.loohp.interactivechatdiscordsrvaddon.debug.Debug;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.GifReader;
+import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageFrame;
 import com.loohp.interactivechatdiscordsrvaddon.modules.DiscordToGameMention;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.PreviewableImageContainer;
-import com.loohp.interactivechatdiscordsrvaddon.utils.ThrowingSupplier;
 import com.loohp.interactivechatdiscordsrvaddon.utils.URLRequestUtils;
 import com.loohp.interactivechatdiscordsrvaddon.wrappers.GraphicsToPacketMapWrapper;
+import com.loohp.interactivechatdiscordsrvaddon.wrappers.MapPreviewCache;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.ListenerPriority;
 import github.scarsz.discordsrv.api.Subscribe;
@@ -71,9 +71,9 @@ import org.bukkit.inventory.ItemStack;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.FileNotFoundException;
-import java.io.InputStream;
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -82,12 +82,6 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -165,39 +159,52 @@ public class InboundToGameEvents implements Listener {
 
     public void handleReceiveMessageFromDiscordPost(DiscordGuildMessagePostProcessEvent event) {
         try {
-            ExecutorService service = Executors.newSingleThreadExecutor();
-            Future<?> future = service.submit(() -> {
-                Debug.debug("Triggering onReceiveMessageFromDiscordPost");
-                Message message = event.getMessage();
+            Debug.debug("Triggering onReceiveMessageFromDiscordPost");
+            Message message = event.getMessage();
 
-                github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component component = event.getMinecraftMessage();
+            github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component component = event.getMinecraftMessage();
 
-                DiscordSRV srv = InteractiveChatDiscordSrvAddon.discordsrv;
-                User author = message.getAuthor();
+            DiscordSRV srv = InteractiveChatDiscordSrvAddon.discordsrv;
+            User author = message.getAuthor();
 
-                if (InteractiveChatDiscordSrvAddon.plugin.translateMentions) {
-                    Debug.debug("onReceiveMessageFromDiscordPost translating mentions");
+            if (InteractiveChatDiscordSrvAddon.plugin.translateMentions) {
+                Debug.debug("onReceiveMessageFromDiscordPost translating mentions");
 
-                    Set<UUID> mentionTitleSent = new HashSet<>();
-                    Map<Member, UUID> channelMembers = new HashMap<>();
+                Set<UUID> mentionTitleSent = new HashSet<>();
+                Map<Member, UUID> channelMembers = new HashMap<>();
 
-                    TextChannel channel = event.getChannel();
-                    Guild guild = channel.getGuild();
-                    Member authorAsMember = guild.getMember(author);
-                    String senderDiscordName = authorAsMember == null ? author.getName() : authorAsMember.getEffectiveName();
-                    UUID senderUUID = srv.getAccountLinkManager().getUuid(author.getId());
+                TextChannel channel = event.getChannel();
+                Guild guild = channel.getGuild();
+                Member authorAsMember = guild.getMember(author);
+                String senderDiscordName = authorAsMember == null ? author.getName() : authorAsMember.getEffectiveName();
+                UUID senderUUID = srv.getAccountLinkManager().getUuid(author.getId());
 
-                    for (Entry<UUID, String> entry : srv.getAccountLinkManager().getManyDiscordIds(Bukkit.getOnlinePlayers().stream().map(each -> each.getUniqueId()).collect(Collectors.toSet())).entrySet()) {
-                        Member member = guild.getMemberById(entry.getValue());
-                        if (member != null && member.hasAccess(channel)) {
-                            channelMembers.put(member, entry.getKey());
+                for (Entry<UUID, String> entry : srv.getAccountLinkManager().getManyDiscordIds(Bukkit.getOnlinePlayers().stream().map(each -> each.getUniqueId()).collect(Collectors.toSet())).entrySet()) {
+                    Member member = guild.getMemberById(entry.getValue());
+                    if (member != null && member.hasAccess(channel)) {
+                        channelMembers.put(member, entry.getKey());
+                    }
+                }
+
+                if (message.mentionsEveryone()) {
+                    //github.scarsz.discordsrv.dependencies.kyori.adventure.text.event.HoverEvent<Component> hover = Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHover.replace("{DiscordUser}", senderDiscordName).replace("{TextChannel}", "#" + channel.getName()).replace("{Guild}", guild.getName())).asHoverEvent();
+                    component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@here").replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@here"))).build()).replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@everyone").replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@everyone"))).build());
+                    for (UUID uuid : channelMembers.values()) {
+                        mentionTitleSent.add(uuid);
+                        Player player = Bukkit.getPlayer(uuid);
+                        if (player != null) {
+                            DiscordToGameMention.playTitleScreen(senderDiscordName, channel.getName(), guild.getName(), player);
                         }
                     }
+                }
 
-                    if (message.mentionsEveryone()) {
-                        //github.scarsz.discordsrv.dependencies.kyori.adventure.text.event.HoverEvent<Component> hover = Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHover.replace("{DiscordUser}", senderDiscordName).replace("{TextChannel}", "#" + channel.getName()).replace("{Guild}", guild.getName())).asHoverEvent();
-                        component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@here").replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@here"))).build()).replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@everyone").replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@everyone"))).build());
-                        for (UUID uuid : channelMembers.values()) {
+                List<Role> mentionedRoles = message.getMentionedRoles();
+                for (Role role : mentionedRoles) {
+                    //github.scarsz.discordsrv.dependencies.kyori.adventure.text.event.HoverEvent<Component> hover = Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHover.replace("{DiscordUser}", senderDiscordName).replace("{TextChannel}", "#" + channel.getName()).replace("{Guild}", guild.getName())).asHoverEvent();
+                    component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@" + role.getName()).replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@" + role.getName()))).build());
+                    for (Entry<Member, UUID> entry : channelMembers.entrySet()) {
+                        UUID uuid = entry.getValue();
+                        if (!mentionTitleSent.contains(uuid) && entry.getKey().getRoles().contains(role)) {
                             mentionTitleSent.add(uuid);
                             Player player = Bukkit.getPlayer(uuid);
                             if (player != null) {
@@ -205,14 +212,17 @@ public class InboundToGameEvents implements Listener {
                             }
                         }
                     }
+                }
 
-                    List<Role> mentionedRoles = message.getMentionedRoles();
-                    for (Role role : mentionedRoles) {
+                List<User> mentionedUsers = message.getMentionedUsers();
+                if (!mentionedUsers.isEmpty()) {
+                    for (User user : mentionedUsers) {
                         //github.scarsz.discordsrv.dependencies.kyori.adventure.text.event.HoverEvent<Component> hover = Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHover.replace("{DiscordUser}", senderDiscordName).replace("{TextChannel}", "#" + channel.getName()).replace("{Guild}", guild.getName())).asHoverEvent();
-                        component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@" + role.getName()).replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@" + role.getName()))).build());
-                        for (Entry<Member, UUID> entry : channelMembers.entrySet()) {
-                            UUID uuid = entry.getValue();
-                            if (!mentionTitleSent.contains(uuid) && entry.getKey().getRoles().contains(role)) {
+                        component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@" + user.getName()).replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@" + user.getName()))).build());
+                        Member member = guild.getMember(user);
+                        if (member != null) {
+                            UUID uuid = channelMembers.get(member);
+                            if (uuid != null && !mentionTitleSent.contains(uuid) && (senderUUID == null || !senderUUID.equals(uuid))) {
                                 mentionTitleSent.add(uuid);
                                 Player player = Bukkit.getPlayer(uuid);
                                 if (player != null) {
@@ -221,151 +231,168 @@ public class InboundToGameEvents implements Listener {
                             }
                         }
                     }
+                }
 
-                    List<User> mentionedUsers = message.getMentionedUsers();
-                    if (!mentionedUsers.isEmpty()) {
-                        for (User user : mentionedUsers) {
-                            //github.scarsz.discordsrv.dependencies.kyori.adventure.text.event.HoverEvent<Component> hover = Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHover.replace("{DiscordUser}", senderDiscordName).replace("{TextChannel}", "#" + channel.getName()).replace("{Guild}", guild.getName())).asHoverEvent();
-                            component = component.replaceText(github.scarsz.discordsrv.dependencies.kyori.adventure.text.TextReplacementConfig.builder().matchLiteral("@" + user.getName()).replacement(github.scarsz.discordsrv.dependencies.kyori.adventure.text.Component.text(InteractiveChatDiscordSrvAddon.plugin.mentionHighlight.replace("{DiscordMention}", "@" + user.getName()))).build());
-                            Member member = guild.getMember(user);
-                            if (member != null) {
-                                UUID uuid = channelMembers.get(member);
-                                if (uuid != null && !mentionTitleSent.contains(uuid) && (senderUUID == null || !senderUUID.equals(uuid))) {
-                                    mentionTitleSent.add(uuid);
-                                    Player player = Bukkit.getPlayer(uuid);
-                                    if (player != null) {
-                                        DiscordToGameMention.playTitleScreen(senderDiscordName, channel.getName(), guild.getName(), player);
-                                    }
-                                }
-                            }
+                event.setMinecraftMessage(component);
+            }
+
+            String processedMessage = MessageUtil.toLegacy(component);
+
+            if (InteractiveChatDiscordSrvAddon.plugin.convertDiscordAttachments) {
+                Debug.debug("onReceiveMessageFromDiscordPost converting discord attachments");
+                Set<String> processedUrl = new HashSet<>();
+                List<PreviewableImageContainer> previewableImageContainers = new ArrayList<>(message.getAttachments().size() + message.getStickers().size());
+                for (Attachment attachment : message.getAttachments()) {
+                    InteractiveChatDiscordSrvAddon.plugin.attachmentCounter.incrementAndGet();
+                    String url = attachment.getUrl();
+                    if (processedMessage.contains(url)) {
+                        processedUrl.add(url);
+                        if ((attachment.isImage() || attachment.isVideo()) && attachment.getSize() <= InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsPreviewLimit) {
+                            previewableImageContainers.add(PreviewableImageContainer.fromAttachment(attachment));
+                        } else {
+                            registerAttachment(url, new DiscordAttachmentData(attachment.getFileName(), url));
                         }
                     }
-
-                    event.setMinecraftMessage(component);
                 }
-
-                String processedMessage = MessageUtil.toLegacy(component);
-
-                if (InteractiveChatDiscordSrvAddon.plugin.convertDiscordAttachments) {
-                    Debug.debug("onReceiveMessageFromDiscordPost converting discord attachments");
-                    Set<String> processedUrl = new HashSet<>();
-                    List<PreviewableImageContainer> previewableImageContainers = new ArrayList<>(message.getAttachments().size() + message.getStickers().size());
-                    for (Attachment attachment : message.getAttachments()) {
-                        InteractiveChatDiscordSrvAddon.plugin.attachmentCounter.incrementAndGet();
-                        String url = attachment.getUrl();
-                        if (processedMessage.contains(url)) {
-                            processedUrl.add(url);
-                            if ((attachment.isImage() || attachment.isVideo()) && attachment.getSize() <= InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsPreviewLimit) {
-                                previewableImageContainers.add(PreviewableImageContainer.fromAttachment(attachment));
-                            } else {
-                                DiscordAttachmentData data = new DiscordAttachmentData(attachment.getFileName(), url);
-                                DiscordAttachmentConversionEvent dace = new DiscordAttachmentConversionEvent(url, data);
-                                Bukkit.getPluginManager().callEvent(dace);
-                                DATA.put(data.getUniqueId(), data);
-                                Bukkit.getScheduler().runTaskLater(InteractiveChatDiscordSrvAddon.plugin, () -> DATA.remove(data.getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentTimeout);
-                            }
-                        }
+                for (MessageSticker sticker : message.getStickers()) {
+                    previewableImageContainers.add(PreviewableImageContainer.fromSticker(sticker));
+                }
+                for (PreviewableImageContainer imageContainer : previewableImageContainers) {
+                    InteractiveChatDiscordSrvAddon.plugin.attachmentImageCounter.incrementAndGet();
+                    String url = imageContainer.getUrl();
+                    String type = imageContainer.getContentType() == null ? "" : imageContainer.getContentType();
+                    if (type.endsWith("gif.png") || type.endsWith("apng") || type.startsWith("video/")) {
+                        registerAttachment(url, new DiscordAttachmentData(imageContainer.getName(), url));
+                        continue;
                     }
-                    for (MessageSticker sticker : message.getStickers()) {
-                        previewableImageContainers.add(PreviewableImageContainer.fromSticker(sticker));
+                    GraphicsToPacketMapWrapper map = createImageMap(type);
+                    DiscordAttachmentData data = new DiscordAttachmentData(imageContainer.getName(), url, map, false);
+                    registerAttachment(url, data);
+                    List<byte[]> cachedColors = InteractiveChatDiscordSrvAddon.plugin.mapPreviewCache.getByUrl(url, type.endsWith("gif"));
+                    if (cachedColors != null) {
+                        map.completeFutureWithColors(cachedColors);
+                        continue;
                     }
-                    for (PreviewableImageContainer imageContainer : previewableImageContainers) {
-                        InteractiveChatDiscordSrvAddon.plugin.attachmentImageCounter.incrementAndGet();
-                        String url = imageContainer.getUrl();
-                        List<ThrowingSupplier<InputStream>> methods = new ArrayList<>();
-                        for (String url0 : imageContainer.getAllUrls()) {
-                            if (URLRequestUtils.isAllowed(url0)) {
-                                methods.add(() -> URLRequestUtils.getInputStream0(url0));
-                            }
-                        }
-                        try (InputStream stream = URLRequestUtils.retrieveUntilSuccessful(methods)) {
-                            String type = imageContainer.getContentType();
-                            GraphicsToPacketMapWrapper map;
-                            boolean isVideo = false;
-                            if (type.endsWith("gif.png") || type.endsWith("apng")) {
-                                throw new UnsupportedOperationException("Animated PNG not yet supported, this error can be ignored");
-                            } else if (type.endsWith("gif")) {
-                                map = new GraphicsToPacketMapWrapper(InteractiveChatDiscordSrvAddon.plugin.playbackBarEnabled, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapBackgroundColor);
-                                GifReader.readGif(stream, InteractiveChatDiscordSrvAddon.plugin.mediaReadingService, (frames, e) -> {
-                                    if (e != null) {
-                                        e.printStackTrace();
-                                        map.completeFuture(null);
-                                    } else {
-                                        map.completeFuture(frames);
-                                    }
-                                });
-                            } else {
-                                BufferedImage image = ImageIO.read(stream);
-                                map = new GraphicsToPacketMapWrapper(image, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapBackgroundColor);
-                            }
-                            DiscordAttachmentData data = new DiscordAttachmentData(imageContainer.getName(), url, map, isVideo);
-                            DiscordAttachmentConversionEvent dace = new DiscordAttachmentConversionEvent(url, data);
-                            Bukkit.getPluginManager().callEvent(dace);
-                            DATA.put(data.getUniqueId(), data);
-                            Bukkit.getScheduler().runTaskLater(InteractiveChatDiscordSrvAddon.plugin, () -> DATA.remove(data.getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentTimeout);
-                        } catch (Exception e) {
+                    List<String> urls = imageContainer.getAllUrls().stream().filter(each -> URLRequestUtils.isAllowed(each)).collect(Collectors.toList());
+                    InteractiveChatDiscordSrvAddon.plugin.mediaDownloadPipeline.fetch(urls, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsPreviewLimit).whenComplete((media, e) -> {
+                        if (e != null) {
                             e.printStackTrace();
-                            DiscordAttachmentData data = new DiscordAttachmentData(imageContainer.getName(), url);
-                            DiscordAttachmentConversionEvent dace = new DiscordAttachmentConversionEvent(url, data);
-                            Bukkit.getPluginManager().callEvent(dace);
-                            DATA.put(data.getUniqueId(), data);
-                            Bukkit.getScheduler().runTaskLater(InteractiveChatDiscordSrvAddon.plugin, () -> DATA.remove(data.getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentTimeout);
+                            fallbackToLink(data);
+                        } else {
+                            decodeImageMap(data, media.getData(), type);
                         }
-                    }
+                    });
+                }
 
-                    Matcher matcher = URLRequestUtils.URL_PATTERN.matcher(message.getContentRaw());
-                    while (matcher.find()) {
-                        String url = matcher.group();
-                        if (!processedUrl.contains(url) && URLRequestUtils.isAllowed(url)) {
-                            long size = HTTPRequestUtils.getContentSize(url);
-                            if (size >= 0 && size <= InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsPreviewLimit) {
-                                InteractiveChatDiscordSrvAddon.plugin.attachmentImageCounter.incrementAndGet();
-                                try (InputStream stream = URLRequestUtils.getInputStream(url)) {
-                                    String type = HTTPRequestUtils.getContentType(url);
-
-                                    if (type == null || !type.startsWith("image/")) {
-                                        continue;
-                                    }
-                                    GraphicsToPacketMapWrapper map;
-                                    boolean isVideo = false;
-                                    if (type.endsWith("gif.png") || type.endsWith("apng")) {
-                                        throw new UnsupportedOperationException("Animated PNG not yet supported, this error can be ignored");
-                                    } else if (type.endsWith("gif")) {
-                                        map = new GraphicsToPacketMapWrapper(InteractiveChatDiscordSrvAddon.plugin.playbackBarEnabled, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapBackgroundColor);
-                                        GifReader.readGif(stream, InteractiveChatDiscordSrvAddon.plugin.mediaReadingService, (frames, e) -> {
-                                            if (e != null) {
-                                                e.printStackTrace();
-                                                map.completeFuture(null);
-                                            } else {
-                                                map.completeFuture(frames);
-                                            }
-                                        });
-                                    } else {
-                                        BufferedImage image = ImageIO.read(stream);
-                                        map = new GraphicsToPacketMapWrapper(image, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapBackgroundColor);
-                                    }
-                                    String name = matcher.group(1);
-                                    DiscordAttachmentData data = new DiscordAttachmentData(name, url, map, isVideo);
-                                    DiscordAttachmentConversionEvent dace = new DiscordAttachmentConversionEvent(url, data);
-                                    Bukkit.getPluginManager().callEvent(dace);
-                                    DATA.put(data.getUniqueId(), data);
-                                    Bukkit.getScheduler().runTaskLater(InteractiveChatDiscordSrvAddon.plugin, () -> DATA.remove(data.getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentTimeout);
-                                } catch (FileNotFoundException ignore) {
-                                } catch (Exception e) {
-                                    e.printStackTrace();
+                Matcher matcher = URLRequestUtils.URL_PATTERN.matcher(message.getContentRaw());
+                while (matcher.find()) {
+                    String url = matcher.group();
+                    if (processedUrl.add(url) && URLRequestUtils.isAllowed(url)) {
+                        String name = matcher.group(1);
+                        List<byte[]> cachedColors = InteractiveChatDiscordSrvAddon.plugin.mapPreviewCache.getByUrl(url, false);
+                        if (cachedColors == null) {
+                            cachedColors = InteractiveChatDiscordSrvAddon.plugin.mapPreviewCache.getByUrl(url, true);
+                        }
+                        if (cachedColors != null) {
+                            InteractiveChatDiscordSrvAddon.plugin.attachmentImageCounter.incrementAndGet();
+                            GraphicsToPacketMapWrapper map = createImageMap("");
+                            map.completeFutureWithColors(cachedColors);
+                            registerAttachment(url, new DiscordAttachmentData(name, url, map, false));
+                            continue;
+                        }
+                        GraphicsToPacketMapWrapper pendingMap;
+                        DiscordAttachmentData pendingData;
+                        Matcher imageMatcher = URLRequestUtils.IMAGE_URL_PATTERN.matcher(url);
+                        if (imageMatcher.matches()) {
+                            pendingMap = createImageMap("image/" + imageMatcher.group(1));
+                            pendingData = new DiscordAttachmentData(name, url, pendingMap, false);
+                            registerAttachment(url, pendingData);
+                        } else {
+                            pendingMap = null;
+                            pendingData = null;
+                        }
+                        InteractiveChatDiscordSrvAddon.plugin.mediaDownloadPipeline.fetch(Collections.singletonList(url), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsPreviewLimit, type -> type != null && type.startsWith("image/") && !type.endsWith("gif.png") && !type.endsWith("apng")).whenComplete((media, e) -> {
+                            if (e != null) {
+                                if (pendingData != null) {
+                                    pendingMap.completeFuture(null);
+                                    DATA.remove(pendingData.getUniqueId());
                                 }
+                                return;
+                            }
+                            String type = media.getContentType();
+                            InteractiveChatDiscordSrvAddon.plugin.attachmentImageCounter.incrementAndGet();
+                            DiscordAttachmentData data = pendingData;
+                            if (data == null) {
+                                data = new DiscordAttachmentData(name, url, createImageMap(type), false);
+                                registerAttachment(url, data);
                             }
+                            decodeImageMap(data, media.getData(), type);
+                        });
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static GraphicsToPacketMapWrapper createImageMap(String type) {
+        return new GraphicsToPacketMapWrapper(type.endsWith("gif") && InteractiveChatDiscordSrvAddon.plugin.playbackBarEnabled, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapBackgroundColor);
+    }
+
+    private static void decodeImageMap(DiscordAttachmentData attachmentData, byte[] data, String type) {
+        String url = attachmentData.getUrl();
+        GraphicsToPacketMapWrapper map = attachmentData.getImageMap();
+        try {
+            MapPreviewCache cache = InteractiveChatDiscordSrvAddon.plugin.mapPreviewCache;
+            boolean animated = type.endsWith("gif");
+            String contentKey = MapPreviewCache.getContentKey(data, animated);
+            List<byte[]> cachedColors = cache.getByContent(url, contentKey, animated);
+            if (cachedColors != null) {
+                map.completeFutureWithColors(cachedColors);
+                return;
+            }
+            if (animated) {
+                GifReader.readGif(new ByteArrayInputStream(data), InteractiveChatDiscordSrvAddon.plugin.mediaReadingService, GraphicsToPacketMapWrapper.MAP_SIZE, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMaxFrames, InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMaxDuration, (frames, e) -> {
+                    if (e != null || frames == null || frames.isEmpty()) {
+                        if (e != null) {
+                            e.printStackTrace();
                         }
+                        fallbackToLink(attachmentData);
+                    } else {
+                        map.completeFuture(frames);
+                        cache.put(url, contentKey, true, map.getColors());
                     }
+                });
+            } else {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+                if (image == null) {
+                    fallbackToLink(attachmentData);
+                    return;
                 }
-            });
-            future.get(5000, TimeUnit.MILLISECONDS);
-            service.shutdownNow();
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                map.completeFuture(Collections.singletonList(new ImageFrame(image)));
+                cache.put(url, contentKey, false, map.getColors());
+            }
+        } catch (Exception e) {
             e.printStackTrace();
+            fallbackToLink(attachmentData);
         }
     }
 
+    private static void fallbackToLink(DiscordAttachmentData data) {
+        data.getImageMap().completeFuture(null);
+        if (DATA.remove(data.getUniqueId()) != null) {
+            registerAttachment(data.getUrl(), new DiscordAttachmentData(data.getFileName(), data.getUrl()));
+        }
+    }
+
+    private static void registerAttachment(String url, DiscordAttachmentData data) {
+        DiscordAttachmentConversionEvent dace = new DiscordAttachmentConversionEvent(url, data);
+        Bukkit.getPluginManager().callEvent(dace);
+        DATA.put(data.getUniqueId(), data);
+        Bukkit.getScheduler().runTaskLater(InteractiveChatDiscordSrvAddon.plugin, () -> DATA.remove(data.getUniqueId()), InteractiveChatDiscordSrvAddon.plugin.discordAttachmentTimeout);
+    }
+
     @EventHandler
     public void onChatPacket(PrePacketComponentProcessEvent event) {
         Debug.debug("Triggering onChatPacket");
@@ -101,6 +101,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import mineverse.Aust1n46.chat.api.MineverseChatPlayer;
 import org.bukkit.Bukkit;
@@ -136,7 +137,6 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.IntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -144,7 +144,6 @@ public class OutboundToDiscordEvents implements Listener {
 
     public static final Comparator<DiscordDisplayData> DISPLAY_DATA_COMPARATOR = Comparator.comparing(each -> each.getPosition());
     public static final Int2ObjectMap<DiscordDisplayData> DATA = Int2ObjectMaps.synchronize(new Int2ObjectLinkedOpenHashMap<>());
-    public static final IntFunction<Pattern> DATA_PATTERN = i -> Pattern.compile("<ICD=" + i + "\\\\?>");
 	public static final Pattern LOOKUP_PATTERN = Pattern.compile("^\\[[^\\]]*\\]$");
     public static final Int2ObjectMap<AttachmentData> RESEND_WITH_ATTACHMENT = Int2ObjectMaps.synchronize(new Int2ObjectLinkedOpenHashMap<>());
     private static final IDProvider DATA_ID_PROVIDER = new IDProvider();
@@ -849,6 +848,48 @@ public class OutboundToDiscordEvents implements Listener {
 
     //=====
 
+    private static String extractDisplayData(String text, List<DiscordDisplayData> dataList) {
+        int index = text.indexOf("<ICD=");
+        if (index < 0) {
+            return text;
+        }
+        IntSet matches = new IntOpenHashSet();
+        StringBuilder sb = new StringBuilder(text.length());
+        int length = text.length();
+        int last = 0;
+        while (index >= 0) {
+            int i = index + 5;
+            long key = 0;
+            while (i < length && i - index - 5 < 10 && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                key = key * 10 + (text.charAt(i++) - '0');
+            }
+            if (i > index + 5 && key <= Integer.MAX_VALUE) {
+                if (i < length && text.charAt(i) == '\\') {
+                    i++;
+                }
+                if (i < length && text.charAt(i) == '>') {
+                    boolean matched = matches.contains((int) key);
+                    if (!matched) {
+                        DiscordDisplayData data = DATA.remove((int) key);
+                        if (data != null) {
+                            dataList.add(data);
+                            matches.add((int) key);
+                            matched = true;
+                        }
+                    }
+                    if (matched) {
+                        sb.append(text, last, index);
+                        last = i + 1;
+                        index = text.indexOf("<ICD=", last);
+                        continue;
+                    }
+                }
+            }
+            index = text.indexOf("<ICD=", index + 1);
+        }
+        return sb.append(text, last, length).toString();
+    }
+
     private static void handleSelfBotMessage(Message message, String textOriginal, TextChannel channel) {
         String text = textOriginal;
 
@@ -856,35 +897,16 @@ public class OutboundToDiscordEvents implements Listener {
             return;
         }
 
-        IntSet matches = new IntLinkedOpenHashSet();
-
-        synchronized (DATA) {
-            for (int key : DATA.keySet()) {
-                Matcher matcher = OutboundToDiscordEvents.DATA_PATTERN.apply(key).matcher(text);
-                if (matcher.find()) {
-                    text = matcher.replaceAll("");
-                    matches.add(key);
-                }
-            }
-        }
+        List<DiscordDisplayData> dataList = new ArrayList<>();
+        text = extractDisplayData(text, dataList);
 
-        if (matches.isEmpty()) {
+        if (dataList.isEmpty()) {
             Debug.debug("discordMessageSent keys empty");
             return;
         }
 
         message.editMessage(text + " ...").queue();
-        OfflineICPlayer player = DATA.get(matches.iterator().nextInt()).getPlayer();
-
-        List<DiscordDisplayData> dataList = new ArrayList<>();
-
-        for (IntIterator itr = matches.iterator(); itr.hasNext();) {
-            int key = itr.nextInt();
-            DiscordDisplayData data = DATA.remove(key);
-            if (data != null) {
-                dataList.add(data);
-            }
-        }
+        OfflineICPlayer player = dataList.get(0).getPlayer();
 
         dataList.sort(DISPLAY_DATA_COMPARATOR);
 
@@ -936,19 +958,10 @@ public class OutboundToDiscordEvents implements Listener {
             return;
         }
 
-        IntSet matches = new IntLinkedOpenHashSet();
-
-        synchronized (DATA) {
-            for (int key : DATA.keySet()) {
-                Matcher matcher = OutboundToDiscordEvents.DATA_PATTERN.apply(key).matcher(text);
-                if (matcher.find()) {
-                    text = matcher.replaceAll("");
-                    matches.add(key);
-                }
-            }
-        }
+        List<DiscordDisplayData> dataList = new ArrayList<>();
+        text = extractDisplayData(text, dataList);
 
-        if (matches.isEmpty()) {
+        if (dataList.isEmpty()) {
             Debug.debug("onMessageReceived keys empty");
             return;
         }
@@ -956,17 +969,7 @@ public class OutboundToDiscordEvents implements Listener {
         String webHookUrl = WebhookUtil.getWebhookUrlToUseForChannel(channel);
         WebhookUtil.editMessage(channel, String.valueOf(messageId), text + " ...", (Collection<? extends MessageEmbed>) null);
 
-        OfflineICPlayer player = DATA.get(matches.iterator().nextInt()).getPlayer();
-
-        List<DiscordDisplayData> dataList = new ArrayList<>();
-
-        for (IntIterator itr = matches.iterator(); itr.hasNext();) {
-            int key = itr.nextInt();
-            DiscordDisplayData data = DATA.remove(key);
-            if (data != null) {
-                dataList.add(data);
-            }
-        }
+        OfflineICPlayer player = dataList.get(0).getPlayer();
 
         dataList.sort(DISPLAY_DATA_COMPARATOR);
 
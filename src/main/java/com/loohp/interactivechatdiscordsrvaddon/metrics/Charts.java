@@ -21,6 +21,7 @@
 package com.loohp.interactivechatdiscordsrvaddon.metrics;
 
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
+import com.loohp.interactivechatdiscordsrvaddon.wrappers.MapPlaybackScheduler;
 import github.scarsz.discordsrv.dependencies.jda.api.JDA;
 
 import java.util.concurrent.Callable;
@@ -234,6 +235,14 @@ public class Charts {
             }
         }));
 
+        metrics.addCustomChart(new Metrics.SingleLineChart("active_image_map_viewers", new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                MapPlaybackScheduler scheduler = InteractiveChatDiscordSrvAddon.plugin.mapPlaybackScheduler;
+                return scheduler == null ? 0 : scheduler.getActiveViewers();
+            }
+        }));
+
         metrics.addCustomChart(new Metrics.SingleLineChart("total_image_maps_viewed_per_interval", new Callable<Integer>() {
             @Override
             public Integer call() throws Exception {
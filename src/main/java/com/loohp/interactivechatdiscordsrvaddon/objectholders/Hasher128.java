@@ -0,0 +1,235 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.objectholders;
+
+public class Hasher128 {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private long h1;
+    private long h2;
+    private long pending;
+    private boolean hasPending;
+    private long length;
+
+    public Hasher128() {
+        this(0);
+    }
+
+    public Hasher128(long seed) {
+        this.h1 = seed;
+        this.h2 = seed;
+        this.pending = 0;
+        this.hasPending = false;
+        this.length = 0;
+    }
+
+    private void mixBlock(long k1, long k2) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        h1 ^= k1;
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        h2 ^= k2;
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    public Hasher128 putLong(long value) {
+        length += 8;
+        if (hasPending) {
+            mixBlock(pending, value);
+            hasPending = false;
+        } else {
+            pending = value;
+            hasPending = true;
+        }
+        return this;
+    }
+
+    public Hasher128 putInt(int value) {
+        return putLong(value);
+    }
+
+    public Hasher128 putBoolean(boolean value) {
+        return putLong(value ? 1 : 0);
+    }
+
+    public Hasher128 putFloat(float value) {
+        return putLong(Float.floatToIntBits(value));
+    }
+
+    public Hasher128 putDouble(double value) {
+        return putLong(Double.doubleToLongBits(value));
+    }
+
+    public Hasher128 putString(CharSequence value) {
+        if (value == null) {
+            return putNull();
+        }
+        int length = value.length();
+        putInt(length);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            putLong(((long) value.charAt(i) << 48) | ((long) value.charAt(i + 1) << 32) | ((long) value.charAt(i + 2) << 16) | (long) value.charAt(i + 3));
+        }
+        if (i < length) {
+            long tail = 0;
+            for (; i < length; i++) {
+                tail = (tail << 16) | value.charAt(i);
+            }
+            putLong(tail);
+        }
+        return this;
+    }
+
+    public Hasher128 putInts(int[] values, int offset, int length) {
+        putInt(length);
+        int end = offset + length;
+        int i = offset;
+        for (; i + 2 <= end; i += 2) {
+            putLong(((long) values[i] << 32) | (values[i + 1] & 0xFFFFFFFFL));
+        }
+        if (i < end) {
+            putInt(values[i]);
+        }
+        return this;
+    }
+
+    public Hasher128 putBytes(byte[] values, int offset, int length) {
+        putInt(length);
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8) {
+            putLong(((long) values[i] << 56) | ((values[i + 1] & 0xFFL) << 48) | ((values[i + 2] & 0xFFL) << 40) | ((values[i + 3] & 0xFFL) << 32) | ((values[i + 4] & 0xFFL) << 24) | ((values[i + 5] & 0xFFL) << 16) | ((values[i + 6] & 0xFFL) << 8) | (values[i + 7] & 0xFFL));
+        }
+        if (i < end) {
+            long tail = 0;
+            for (; i < end; i++) {
+                tail = (tail << 8) | (values[i] & 0xFFL);
+            }
+            putLong(tail);
+        }
+        return this;
+    }
+
+    public Hasher128 putHash(HashCode hashCode) {
+        if (hashCode == null) {
+            return putNull();
+        }
+        return putLong(hashCode.getHigh()).putLong(hashCode.getLow());
+    }
+
+    public Hasher128 putNull() {
+        return putLong(0x9E3779B97F4A7C15L);
+    }
+
+    public HashCode hash() {
+        long h1 = this.h1;
+        long h2 = this.h2;
+        if (hasPending) {
+            long k1 = pending;
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new HashCode(h1, h2);
+    }
+
+    public static final class HashCode {
+
+        private final long high;
+        private final long low;
+
+        public HashCode(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        public long getHigh() {
+            return high;
+        }
+
+        public long getLow() {
+            return low;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            HashCode that = (HashCode) o;
+            return high == that.high && low == that.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (high ^ (high >>> 32) ^ low ^ (low >>> 32));
+        }
+
+        @Override
+        public String toString() {
+            char[] chars = new char[32];
+            toHex(high, chars, 0);
+            toHex(low, chars, 16);
+            return new String(chars);
+        }
+
+        private static void toHex(long value, char[] chars, int offset) {
+            for (int i = 15; i >= 0; i--) {
+                chars[offset + i] = Character.forDigit((int) (value & 15), 16);
+                value >>>= 4;
+            }
+        }
+
+    }
+
+}
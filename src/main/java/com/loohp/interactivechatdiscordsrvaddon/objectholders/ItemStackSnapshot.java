@@ -0,0 +1,120 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.objectholders;
+
+import com.loohp.interactivechat.InteractiveChat;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
+import com.loohp.interactivechat.objectholders.ICMaterial;
+import com.loohp.interactivechat.utils.ItemNBTUtils;
+import com.loohp.interactivechat.utils.NBTParsingUtils;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ItemStackSnapshot {
+
+    private final ItemStack itemStack;
+    private final ICMaterial icMaterial;
+    private final int amount;
+    private final int maxDurability;
+    private final int damage;
+    private final Map<Enchantment, Integer> enchantments;
+
+    private String json;
+    private boolean parsed;
+    private CompoundTag root;
+
+    @SuppressWarnings("deprecation")
+    public ItemStackSnapshot(ItemStack itemStack) {
+        this.itemStack = itemStack;
+        this.icMaterial = ICMaterial.from(itemStack);
+        this.amount = itemStack.getAmount();
+        this.maxDurability = itemStack.getType().getMaxDurability();
+        if (InteractiveChat.version.isLegacy()) {
+            this.damage = itemStack.getDurability();
+        } else {
+            ItemMeta itemMeta = itemStack.getItemMeta();
+            this.damage = itemMeta instanceof Damageable ? ((Damageable) itemMeta).getDamage() : 0;
+        }
+        this.enchantments = Collections.unmodifiableMap(new HashMap<>(itemStack.getEnchantments()));
+        this.json = null;
+        this.parsed = false;
+        this.root = null;
+    }
+
+    public ItemStack getItemStack() {
+        return itemStack;
+    }
+
+    public ICMaterial getICMaterial() {
+        return icMaterial;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public int getMaxDurability() {
+        return maxDurability;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public Map<Enchantment, Integer> getEnchantments() {
+        return enchantments;
+    }
+
+    public synchronized String getJson() {
+        if (json == null) {
+            json = ItemNBTUtils.getNMSItemStackJson(itemStack);
+        }
+        return json;
+    }
+
+    public boolean isValid() {
+        return getRoot() != null;
+    }
+
+    public synchronized CompoundTag getRoot() {
+        if (!parsed) {
+            parsed = true;
+            try {
+                root = (CompoundTag) NBTParsingUtils.fromSNBT(getJson());
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+        return root;
+    }
+
+    public CompoundTag getTag() {
+        CompoundTag root = getRoot();
+        return root != null && root.containsKey("tag") ? root.getCompoundTag("tag") : null;
+    }
+
+}
@@ -70,6 +70,14 @@ public abstract class AbstractManager implements IAbstractManager {
 
     protected abstract void loadDirectory(String namespace, ResourcePackFile root, Object... meta);
 
+    /**
+     * Reads a directory without modifying this manager and returns the action that merges the result into it.
+     * The reading part may be run off the loading thread, the returned action is always run on the loading thread in pack order.
+     */
+    protected Runnable prepareDirectory(String namespace, ResourcePackFile root, Object... meta) {
+        return () -> loadDirectory(namespace, root, meta);
+    }
+
     protected abstract void filterResources(Pattern namespace, Pattern path);
 
     protected abstract void reload();
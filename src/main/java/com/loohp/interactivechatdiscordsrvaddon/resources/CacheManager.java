@@ -21,11 +21,15 @@
 package com.loohp.interactivechatdiscordsrvaddon.resources;
 
 import com.loohp.interactivechat.utils.FileUtils;
+import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.WeightedLRUCache;
+import com.loohp.interactivechatdiscordsrvaddon.resources.ModelRenderer.RenderResult;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.mapdb.HTreeMap;
 import org.mapdb.Serializer;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
@@ -36,13 +40,32 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CacheManager implements ICacheManager {
 
+    public static final long DEFAULT_MEMORY_CACHE_SIZE = 64L * 1024L * 1024L;
+
+    private static long getMemoryWeight(CacheObject<?> cacheObject) {
+        Object object = cacheObject.getObject();
+        if (object instanceof BufferedImage) {
+            BufferedImage image = (BufferedImage) object;
+            return (long) image.getWidth() * (long) image.getHeight() * 4L;
+        } else if (object instanceof RenderResult) {
+            RenderResult renderResult = (RenderResult) object;
+            return (long) renderResult.getWidth() * (long) renderResult.getHeight() * 4L;
+        }
+        return 0;
+    }
+
     private final File folder;
     private final DB db;
     private final HTreeMap<String, byte[]> cacheObjectMap;
+    private final WeightedLRUCache<String, CacheObject<?>> memoryCache;
     private final ScheduledExecutorService service;
     private final AtomicBoolean isValid;
 
     public CacheManager(File folder, Duration timeout) {
+        this(folder, timeout, DEFAULT_MEMORY_CACHE_SIZE);
+    }
+
+    public CacheManager(File folder, Duration timeout, long memoryCacheSize) {
         this.folder = folder;
         if (folder.exists()) {
             FileUtils.removeFolderRecursively(folder);
@@ -50,6 +73,7 @@ public class CacheManager implements ICacheManager {
         folder.mkdirs();
         this.db = DBMaker.fileDB(new File(folder, "data.dat")).fileMmapEnableIfSupported().fileDeleteAfterClose().make();
         this.cacheObjectMap = db.hashMap("cache", Serializer.STRING, Serializer.BYTE_ARRAY).createOrOpen();
+        this.memoryCache = new WeightedLRUCache<>(memoryCacheSize, cacheObject -> getMemoryWeight(cacheObject));
         this.service = Executors.newSingleThreadScheduledExecutor();
         service.scheduleAtFixedRate(() -> cacheObjectMap.expireEvict(), 5, 5, TimeUnit.MINUTES);
         this.isValid = new AtomicBoolean(true);
@@ -65,16 +89,25 @@ public class CacheManager implements ICacheManager {
         if (!isValid.get()) {
             return null;
         }
+        CacheObject<?> cacheObject = memoryCache.get(key);
+        if (cacheObject != null) {
+            return copyForCaller(cacheObject);
+        }
         byte[] data = cacheObjectMap.get(key);
         if (data == null) {
             return null;
         }
         try {
-            return CacheObject.deserialize(data);
+            cacheObject = CacheObject.deserialize(data);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
+        if (isMemoryCacheable(cacheObject.getObject())) {
+            memoryCache.put(key, cacheObject);
+            return copyForCaller(cacheObject);
+        }
+        return cacheObject;
     }
 
     @Override
@@ -82,10 +115,18 @@ public class CacheManager implements ICacheManager {
         if (!isValid.get()) {
             return;
         }
+        CacheObject<T> cacheObject = new CacheObject<>(System.currentTimeMillis(), value);
         try {
-            cacheObjectMap.put(key, new CacheObject<>(System.currentTimeMillis(), value).serialize());
+            cacheObjectMap.put(key, cacheObject.serialize());
         } catch (IOException e) {
             e.printStackTrace();
+            memoryCache.remove(key);
+            return;
+        }
+        if (isMemoryCacheable(value)) {
+            memoryCache.put(key, copyForCaller(cacheObject));
+        } else {
+            memoryCache.remove(key);
         }
     }
 
@@ -94,7 +135,11 @@ public class CacheManager implements ICacheManager {
         if (!isValid.get()) {
             return null;
         }
+        CacheObject<?> cacheObject = memoryCache.remove(key);
         byte[] data = cacheObjectMap.remove(key);
+        if (cacheObject != null) {
+            return cacheObject;
+        }
         if (data == null) {
             return null;
         }
@@ -111,13 +156,47 @@ public class CacheManager implements ICacheManager {
         if (!isValid.get()) {
             return;
         }
+        memoryCache.clear();
         cacheObjectMap.clear();
     }
 
+    private boolean isMemoryCacheable(Object object) {
+        return object instanceof BufferedImage || (object instanceof RenderResult && ((RenderResult) object).isSuccessful());
+    }
+
+    private CacheObject<?> copyForCaller(CacheObject<?> cacheObject) {
+        Object object = cacheObject.getObject();
+        if (object instanceof BufferedImage) {
+            return new CacheObject<>(cacheObject.getTimeCreated(), ImageUtils.copyImage((BufferedImage) object));
+        }
+        return cacheObject;
+    }
+
+    public long getMemoryCacheHits() {
+        return memoryCache.getHits();
+    }
+
+    public long getMemoryCacheMisses() {
+        return memoryCache.getMisses();
+    }
+
+    public long getMemoryCacheEvictions() {
+        return memoryCache.getEvictions();
+    }
+
+    public long getMemoryCacheSize() {
+        return memoryCache.getWeight();
+    }
+
+    public long getMemoryCacheMaxSize() {
+        return memoryCache.getMaxWeight();
+    }
+
     @Override
     public synchronized void close() {
         if (isValid.getAndSet(false)) {
             service.shutdown();
+            memoryCache.clear();
             cacheObjectMap.close();
             db.close();
             if (folder.exists()) {
@@ -24,6 +24,11 @@ import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ModelRenderer.RenderResult;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
@@ -33,10 +38,15 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public class CacheObject<T> {
 
+    private static final byte RAW_PIXELS_UNCOMPRESSED = 0;
+    private static final byte RAW_PIXELS_RUN_LENGTH = 1;
+
     protected static CacheObject<?> deserialize(byte[] data) throws Exception {
         try (DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(data))) {
             long timeCreated = inputStream.readLong();
@@ -53,9 +63,10 @@ public class CacheObject<T> {
                     return new CacheObject<>(timeCreated, ImageUtils.fromArray(dataArray));
                 }
                 case 2: {
+                    boolean successful = inputStream.readBoolean();
                     byte[] dataArray = new byte[data.length - 10];
                     inputStream.readFully(dataArray);
-                    if (inputStream.readBoolean()) {
+                    if (successful) {
                         return new CacheObject<>(timeCreated, new RenderResult(ImageUtils.fromArray(dataArray)));
                     } else {
                         return new CacheObject<>(timeCreated, new RenderResult(new String(dataArray, StandardCharsets.UTF_8)));
@@ -75,6 +86,12 @@ public class CacheObject<T> {
                     Class<?> clazz = Class.forName(new String(name, StandardCharsets.UTF_8));
                     return new CacheObject<>(timeCreated, clazz.getConstructor(InputStream.class).newInstance(inputStream));
                 }
+                case 5: {
+                    return new CacheObject<>(timeCreated, readRawImage(inputStream));
+                }
+                case 6: {
+                    return new CacheObject<>(timeCreated, new RenderResult(readRawImage(inputStream)));
+                }
                 default: {
                     throw new IllegalArgumentException("Illegal class type " + type);
                 }
@@ -106,15 +123,15 @@ public class CacheObject<T> {
                 dataOutputStream.writeByte(0);
                 dataOutputStream.write(((String) object).getBytes(StandardCharsets.UTF_8));
             } else if (object instanceof BufferedImage) {
-                dataOutputStream.writeByte(1);
-                dataOutputStream.write(ImageUtils.toArray((BufferedImage) object));
+                dataOutputStream.writeByte(5);
+                writeRawImage(dataOutputStream, (BufferedImage) object);
             } else if (object instanceof RenderResult) {
-                dataOutputStream.writeByte(2);
                 RenderResult renderResult = (RenderResult) object;
                 if (renderResult.isSuccessful()) {
-                    dataOutputStream.writeBoolean(true);
-                    dataOutputStream.write(ImageUtils.toArray(renderResult.getImage()));
+                    dataOutputStream.writeByte(6);
+                    writeRawImage(dataOutputStream, renderResult.getImage());
                 } else {
+                    dataOutputStream.writeByte(2);
                     dataOutputStream.writeBoolean(false);
                     dataOutputStream.write(renderResult.getRejectedReason().getBytes(StandardCharsets.UTF_8));
                 }
@@ -137,4 +154,98 @@ public class CacheObject<T> {
         }
     }
 
-}
\ No newline at end of file
+    private static int[] getPixels(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            //only use the backing array when it is exactly this image's pixels, sub images share their parent's array
+            WritableRaster raster = image.getRaster();
+            SampleModel sampleModel = raster.getSampleModel();
+            DataBuffer dataBuffer = raster.getDataBuffer();
+            if (sampleModel instanceof SinglePixelPackedSampleModel && ((SinglePixelPackedSampleModel) sampleModel).getScanlineStride() == width && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0 && dataBuffer.getNumBanks() == 1 && dataBuffer.getOffset() == 0) {
+                int[] data = ((DataBufferInt) dataBuffer).getData();
+                if (data.length == width * height) {
+                    return data;
+                }
+            }
+        }
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    private static void writeRawImage(DataOutputStream outputStream, BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = getPixels(image);
+        int length = width * height;
+        int runs = 0;
+        for (int i = 0; i < length; runs++) {
+            int color = pixels[i];
+            do {
+                i++;
+            } while (i < length && pixels[i] == color);
+        }
+        outputStream.writeInt(width);
+        outputStream.writeInt(height);
+        ByteBuffer buffer;
+        if (runs * 2 < length) {
+            outputStream.writeByte(RAW_PIXELS_RUN_LENGTH);
+            outputStream.writeInt(runs);
+            buffer = ByteBuffer.allocate(runs * 8);
+            for (int i = 0; i < length; ) {
+                int color = pixels[i];
+                int start = i;
+                do {
+                    i++;
+                } while (i < length && pixels[i] == color);
+                buffer.putInt(i - start);
+                buffer.putInt(color);
+            }
+        } else {
+            outputStream.writeByte(RAW_PIXELS_UNCOMPRESSED);
+            buffer = ByteBuffer.allocate(length * 4);
+            buffer.asIntBuffer().put(pixels, 0, length);
+        }
+        outputStream.write(buffer.array());
+    }
+
+    private static BufferedImage readRawImage(DataInputStream inputStream) throws IOException {
+        int width = inputStream.readInt();
+        int height = inputStream.readInt();
+        byte compression = inputStream.readByte();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        switch (compression) {
+            case RAW_PIXELS_UNCOMPRESSED: {
+                byte[] data = new byte[pixels.length * 4];
+                inputStream.readFully(data);
+                ByteBuffer.wrap(data).asIntBuffer().get(pixels);
+                break;
+            }
+            case RAW_PIXELS_RUN_LENGTH: {
+                int runs = inputStream.readInt();
+                byte[] data = new byte[runs * 8];
+                inputStream.readFully(data);
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                int position = 0;
+                for (int i = 0; i < runs; i++) {
+                    int runLength = buffer.getInt();
+                    int color = buffer.getInt();
+                    int end = position + runLength;
+                    if (runLength < 0 || end > pixels.length) {
+                        throw new IllegalArgumentException("Run length exceeds image bounds");
+                    }
+                    if (color != 0) {
+                        Arrays.fill(pixels, position, end, color);
+                    }
+                    position = end;
+                }
+                break;
+            }
+            default: {
+                throw new IllegalArgumentException("Illegal raw pixel compression " + compression);
+            }
+        }
+        return image;
+    }
+
+}
@@ -22,6 +22,7 @@ package com.loohp.interactivechatdiscordsrvaddon.resources;
 
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
 import com.loohp.interactivechat.objectholders.ValuePairs;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceManager.ResourceRegistrySupplier;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.BlockModel;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.ModelOverride.ModelOverrideType;
@@ -79,6 +80,13 @@ public class CustomItemTextureRegistry implements IResourceRegistry {
                 .map(each -> ((Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>>) blockModel -> new ValuePairs<>(blockModel, new HashMap<>())).andThen(each));
     }
 
+    public Optional<Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>>> getItemPostResolveFunction(String modelKey, EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction) {
+        return resolvers.stream()
+                .map(each -> (Function<ValuePairs<BlockModel, Map<String, TextureResource>>, ValuePairs<BlockModel, Map<String, TextureResource>>>) result -> each.getItemPostResolveFunction(result, modelKey, heldSlot, itemStackSnapshot, is1_8, predicates, player, world, entity, translateFunction))
+                .reduce(Function::andThen)
+                .map(each -> ((Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>>) blockModel -> new ValuePairs<>(blockModel, new HashMap<>())).andThen(each));
+    }
+
     public Optional<TextureResource> getElytraOverrideTextures(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction) {
         return resolvers.stream().map(each -> each.getElytraOverrideTextures(heldSlot, itemStack, translateFunction)).filter(each -> each.isPresent()).findFirst().flatMap(each -> each);
     }
@@ -87,6 +95,10 @@ public class CustomItemTextureRegistry implements IResourceRegistry {
         return resolvers.stream().map(each -> each.getEnchantmentGlintOverrideTextures(heldSlot, itemStack, translateFunction)).filter(each -> !each.isEmpty()).findFirst().orElseGet(ifEmpty);
     }
 
+    public List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, Supplier<List<ValuePairs<TextureResource, OpenGLBlending>>> ifEmpty, UnaryOperator<String> translateFunction) {
+        return resolvers.stream().map(each -> each.getEnchantmentGlintOverrideTextures(heldSlot, itemStackSnapshot, translateFunction)).filter(each -> !each.isEmpty()).findFirst().orElseGet(ifEmpty);
+    }
+
     public Optional<TextureResource> getArmorOverrideTextures(String layer, EquipmentSlot heldSlot, ItemStack itemStack, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction) {
         return resolvers.stream().map(each -> each.getArmorOverrideTextures(layer, heldSlot, itemStack, player, world, entity, translateFunction)).filter(each -> each.isPresent()).findFirst().flatMap(each -> each);
     }
@@ -95,10 +107,18 @@ public class CustomItemTextureRegistry implements IResourceRegistry {
 
         ValuePairs<BlockModel, Map<String, TextureResource>> getItemPostResolveFunction(ValuePairs<BlockModel, Map<String, TextureResource>> previousResult, String modelKey, EquipmentSlot heldSlot, ItemStack itemStack, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction);
 
+        default ValuePairs<BlockModel, Map<String, TextureResource>> getItemPostResolveFunction(ValuePairs<BlockModel, Map<String, TextureResource>> previousResult, String modelKey, EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction) {
+            return getItemPostResolveFunction(previousResult, modelKey, heldSlot, itemStackSnapshot.getItemStack(), is1_8, predicates, player, world, entity, translateFunction);
+        }
+
         Optional<TextureResource> getElytraOverrideTextures(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction);
 
         List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction);
 
+        default List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction) {
+            return getEnchantmentGlintOverrideTextures(heldSlot, itemStackSnapshot.getItemStack(), translateFunction);
+        }
+
         Optional<TextureResource> getArmorOverrideTextures(String layer, EquipmentSlot heldSlot, ItemStack itemStack, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction);
 
     }
@@ -62,10 +62,18 @@ public interface ICacheManager extends IResourceRegistry {
         return manager -> new CacheManager(folder, Duration.ofMinutes(10));
     }
 
+    static ResourceRegistrySupplier<ICacheManager> getDefaultSupplier(File folder, long memoryCacheSize) {
+        return manager -> new CacheManager(folder, Duration.ofMinutes(10), memoryCacheSize);
+    }
+
     static ResourceRegistrySupplier<ICacheManager> getDummySupplier() {
         return DUMMY_SUPPLIER;
     }
 
+    /**
+     * Images are copied when they are put into and taken out of the cache,
+     * callers may modify a returned image without copying it first.
+     */
     CacheObject<?> getCache(String key);
 
     CacheObject<?> removeCache(String key);
@@ -33,6 +33,7 @@ import com.loohp.interactivechat.utils.CustomArrayUtils;
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.BlendingUtils;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.Hasher128;
 import com.loohp.interactivechatdiscordsrvaddon.registry.ResourceRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.BlockModel;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.Coordinates3D;
@@ -63,19 +64,17 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Queue;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -86,7 +85,6 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
-import java.util.stream.Collectors;
 
 public class ModelRenderer implements AutoCloseable {
 
@@ -102,6 +100,8 @@ public class ModelRenderer implements AutoCloseable {
     public static final int TEXTURE_RESOLUTION = 800;
 
     public static final String CACHE_KEY = "ModelRender";
+
+    private static final ModelOverrideType[] MODEL_OVERRIDE_TYPES = ModelOverrideType.values();
     public static final String MODEL_NOT_FOUND = "notfound";
 
     private static final BufferedImage[] EMPTY_IMAGE_ARRAY = new BufferedImage[0];
@@ -170,7 +170,11 @@ public class ModelRenderer implements AutoCloseable {
             resolvedItems.put(playerModelItem, new ValueTrios<>(itemBlockModel, overrideTextures, playerModelItem.getTintColorProvider()));
         }
 
-        String cacheKey = cacheKey(width, height, manager.getUuid(), slim, cacheKeyResolvedItems(resolvedItems), cacheKeyProvidedTextures(providedTextures));
+        Hasher128 cacheKeyHasher = cacheKeyHasher(width, height, manager.getUuid());
+        cacheKeyHasher.putBoolean(slim);
+        hashResolvedItems(cacheKeyHasher, resolvedItems);
+        hashProvidedTextures(cacheKeyHasher, providedTextures);
+        String cacheKey = cacheKey(cacheKeyHasher);
         if (manager.hasResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class)) {
             CacheObject<?> cachedRender = manager.getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(cacheKey);
             if (cachedRender != null) {
@@ -318,7 +322,13 @@ public class ModelRenderer implements AutoCloseable {
             return new RenderResult(MODEL_NOT_FOUND);
         }
 
-        String cacheKey = cacheKey(width, height, manager.getUuid(), postResolveFunction.hashCode(), modelKey, displayPosition, predicate, cacheKeyProvidedTextures(providedTextures), cacheKeyProvidedTextures(overrideTextures), enchanted);
+        Hasher128 cacheKeyHasher = cacheKeyHasher(width, height, manager.getUuid());
+        cacheKeyHasher.putInt(postResolveFunction.hashCode()).putString(modelKey).putInt(displayPosition == null ? -1 : displayPosition.ordinal());
+        hashPredicate(cacheKeyHasher, predicate);
+        hashProvidedTextures(cacheKeyHasher, providedTextures);
+        hashProvidedTextures(cacheKeyHasher, overrideTextures);
+        cacheKeyHasher.putBoolean(enchanted);
+        String cacheKey = cacheKey(cacheKeyHasher);
         CacheObject<?> cachedRender = manager.getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class).getCache(cacheKey);
         if (cachedRender != null) {
             RenderResult cachedResult = (RenderResult) cachedRender.getObject();
@@ -420,13 +430,10 @@ public class ModelRenderer implements AutoCloseable {
     private Model generateStandardRenderModel(BlockModel blockModel, ResourceManager manager, Map<String, TextureResource> providedTextures, Map<String, TextureResource> overrideTextures, TintColorProvider tintColorProvider, boolean enchanted, boolean skin, BiFunction<BufferedImage, EnchantmentGlintType, RawEnchantmentGlintData> rawEnchantmentGlintProvider) {
         Map<String, BufferedImage> cachedResize = new ConcurrentHashMap<>();
         Map<String, RawEnchantmentGlintData> cachedEnchantmentGlint = new ConcurrentHashMap<>();
-        List<ModelElement> elements = new ArrayList<>(blockModel.getElements());
-        List<Hexahedron> hexahedrons = new ArrayList<>(elements.size());
-        Queue<Future<Hexahedron>> tasks = new ConcurrentLinkedQueue<>();
-        Iterator<ModelElement> itr = elements.iterator();
-        while (itr.hasNext()) {
-            ModelElement element = itr.next();
-            tasks.add(renderingService.submit(() -> {
+        List<ModelElement> elements = blockModel.getElements();
+        List<CompletableFuture<Hexahedron>> tasks = new ArrayList<>(elements.size());
+        for (ModelElement element : elements) {
+            tasks.add(CompletableFuture.supplyAsync(() -> {
                 ModelElementRotation rotation = element.getRotation();
                 BufferedImage[] images = new BufferedImage[6];
                 Hexahedron hexahedron = Hexahedron.fromCorners(new Point3D(element.getFrom().getX(), element.getFrom().getY(), element.getFrom().getZ()), new Point3D(element.getTo().getX(), element.getTo().getY(), element.getTo().getZ()), images);
@@ -480,7 +487,7 @@ public class ModelRenderer implements AutoCloseable {
                         } else {
                             BufferedImage cached = cachedResize.get(texture);
                             if (cached == null) {
-                                cached = resource.getTexture();
+                                cached = resource.getSharedTexture();
                                 if (resource.hasTextureMeta()) {
                                     TextureMeta meta = resource.getTextureMeta();
                                     if (meta.hasProperties()) {
@@ -636,34 +643,25 @@ public class ModelRenderer implements AutoCloseable {
                     hexahedron.translate(rotation.getOrigin().getX(), rotation.getOrigin().getY(), rotation.getOrigin().getZ());
                 }
                 return hexahedron;
-            }));
-            itr.remove();
-        }
-        while (!tasks.isEmpty() || !elements.isEmpty()) {
-            Future<Hexahedron> task = tasks.poll();
-            if (task == null) {
-                try {
-                    TimeUnit.MILLISECONDS.sleep(1);
-                } catch (InterruptedException e) {
-                }
-            } else {
-                try {
-                    hexahedrons.add(task.get());
-                } catch (Throwable e) {
-                    new RuntimeException("Unable to generate model: " + blockModel.getResourceLocation(), e).printStackTrace();
-                    hexahedrons = null;
-                    for (Future<Hexahedron> t : tasks) {
-                        t.cancel(true);
-                    }
-                    tasks = null;
-                    if (e instanceof OutOfMemoryError) {
-                        System.gc();
-                    }
-                    BufferedImage[] missingTextures = new BufferedImage[6];
-                    Arrays.fill(missingTextures, TextureManager.getMissingImage(16, 16));
-                    return new Model(Hexahedron.fromCorners(new Point3D(0, 0, 0), new Point3D(16, 16, 16), missingTextures));
-                }
+            }, renderingService));
+        }
+        List<Hexahedron> hexahedrons = new ArrayList<>(tasks.size());
+        try {
+            for (CompletableFuture<Hexahedron> task : tasks) {
+                hexahedrons.add(task.join());
+            }
+        } catch (Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            new RuntimeException("Unable to generate model: " + blockModel.getResourceLocation(), cause).printStackTrace();
+            for (CompletableFuture<Hexahedron> t : tasks) {
+                t.cancel(true);
+            }
+            if (cause instanceof OutOfMemoryError) {
+                System.gc();
             }
+            BufferedImage[] missingTextures = new BufferedImage[6];
+            Arrays.fill(missingTextures, TextureManager.getMissingImage(16, 16));
+            return new Model(Hexahedron.fromCorners(new Point3D(0, 0, 0), new Point3D(16, 16, 16), missingTextures));
         }
         return new Model(hexahedrons);
     }
@@ -703,42 +701,52 @@ public class ModelRenderer implements AutoCloseable {
         renderModel.render(image, true, baseTransform, BlendingModes.NORMAL, renderingService).join();
     }
 
-    private String cacheKey(Object... obj) {
-        return Arrays.stream(obj).map(each -> {
-            if (each == null) {
-                return "null";
-            } else if (each instanceof Map) {
-                return cacheKeyMap((Map<?, ?>) each);
-            }
-            return each.toString();
-        }).collect(Collectors.joining("/", CACHE_KEY + "/", ""));
+    private Hasher128 cacheKeyHasher(int width, int height, UUID managerUuid) {
+        Hasher128 hasher = new Hasher128();
+        hasher.putInt(width).putInt(height).putLong(managerUuid.getMostSignificantBits()).putLong(managerUuid.getLeastSignificantBits());
+        return hasher;
     }
 
-    private String cacheKeyMap(Map<?, ?> map) {
-        Comparator<Entry<?, ?>> c = Comparator.comparing(entry -> entry.getKey() == null ? "null" : entry.getKey().toString());
-        c = c.thenComparing(entry -> entry.getValue() == null ? "null" : entry.getValue().toString());
-        return map.entrySet().stream().sorted(c).map(entry -> {
-            return (entry.getKey() == null ? "null" : entry.getKey().toString()) + ":" + (entry.getValue() == null ? "null" : entry.getValue().toString());
-        }).collect(Collectors.joining(", ", "{", "}"));
+    private String cacheKey(Hasher128 hasher) {
+        return CACHE_KEY + "/" + hasher.hash();
     }
 
-    private String cacheKeyProvidedTextures(Map<String, TextureResource> providedTextures) {
-        return providedTextures.entrySet().stream().map(entry -> {
-            TextureResource resource = entry.getValue();
-            if (resource.isTexture()) {
-                return entry.getKey() + ":" + ImageUtils.hash(resource.getTexture());
-            } else if (resource.hasFile()) {
-                return entry.getKey() + ":" + resource.getFile().getAbsolutePath();
+    private void hashPredicate(Hasher128 hasher, Map<ModelOverrideType, Float> predicate) {
+        if (predicate == null) {
+            hasher.putNull();
+            return;
+        }
+        hasher.putInt(predicate.size());
+        if (predicate.isEmpty()) {
+            return;
+        }
+        for (ModelOverrideType type : MODEL_OVERRIDE_TYPES) {
+            Float value = predicate.get(type);
+            if (value != null) {
+                hasher.putInt(type.ordinal()).putFloat(value);
             }
-            return entry.getKey() + ":" + resource;
-        }).collect(Collectors.joining(", ", "{", "}"));
+        }
+    }
+
+    private void hashProvidedTextures(Hasher128 hasher, Map<String, TextureResource> providedTextures) {
+        hasher.putInt(providedTextures.size());
+        for (Entry<String, TextureResource> entry : providedTextures.entrySet()) {
+            hasher.putString(entry.getKey()).putHash(entry.getValue().getIdentityHash());
+        }
     }
 
-    private String cacheKeyResolvedItems(Map<PlayerModelItem, ValueTrios<BlockModel, Map<String, TextureResource>, TintColorProvider>> modelItems) {
-        return modelItems.entrySet().stream().map(entry -> {
+    private void hashResolvedItems(Hasher128 hasher, Map<PlayerModelItem, ValueTrios<BlockModel, Map<String, TextureResource>, TintColorProvider>> modelItems) {
+        hasher.putInt(modelItems.size());
+        for (Entry<PlayerModelItem, ValueTrios<BlockModel, Map<String, TextureResource>, TintColorProvider>> entry : modelItems.entrySet()) {
             PlayerModelItem resource = entry.getKey();
-            return entry.getKey() + ":[" + resource.getPosition() + ", " + resource.getModelKey() + ", " + cacheKeyMap(resource.getPredicate()) + ", " + resource.isEnchanted() + ", " + cacheKeyProvidedTextures(resource.getProvidedTextures()) + ", " + resource.getPostResolveFunction().hashCode() + ", " + cacheKeyProvidedTextures(entry.getValue().getSecond()) + "," + entry.getValue().getThird().hashCode() + "]";
-        }).collect(Collectors.joining(", ", "{", "}"));
+            hasher.putInt(resource.getPosition().ordinal()).putString(resource.getModelKey());
+            hashPredicate(hasher, resource.getPredicate());
+            hasher.putBoolean(resource.isEnchanted());
+            hashProvidedTextures(hasher, resource.getProvidedTextures());
+            hasher.putInt(resource.getPostResolveFunction().hashCode());
+            hashProvidedTextures(hasher, entry.getValue().getSecond());
+            hasher.putInt(entry.getValue().getThird().hashCode());
+        }
     }
 
     private <K, V> Set<K> findKey(Map<K, V> map, V value) {
@@ -902,6 +910,14 @@ public class ModelRenderer implements AutoCloseable {
             return ImageUtils.copyImage(image);
         }
 
+        public int getWidth() {
+            return image == null ? 0 : image.getWidth();
+        }
+
+        public int getHeight() {
+            return image == null ? 0 : image.getHeight();
+        }
+
         public String getRejectedReason() {
             return rejectedReason;
         }
@@ -50,10 +50,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -80,6 +83,8 @@ public class ResourceManager implements AutoCloseable {
     private final AtomicBoolean isValid;
     private final UUID uuid;
 
+    private volatile int loadingParallelism;
+
     public ResourceManager(int nativeServerPackFormat, Collection<ModManagerSupplier<?>> modManagerProviders, Collection<ResourceRegistrySupplier<?>> resourceManagerUtilsProviders, BiFunction<File, ResourcePackType, DefaultResourcePackInfo> defaultResourcePackInfoFunction, Flag... flags) {
         this.nativeServerPackFormat = nativeServerPackFormat;
 
@@ -90,6 +95,7 @@ public class ResourceManager implements AutoCloseable {
 
         this.isValid = new AtomicBoolean(true);
         this.uuid = UUID.randomUUID();
+        this.loadingParallelism = 1;
 
         this.resourceRegistries = new HashMap<>();
         for (ResourceRegistrySupplier<?> resourceRegistrySupplier : resourceManagerUtilsProviders) {
@@ -297,21 +303,22 @@ public class ResourceManager implements AutoCloseable {
             }
         }
 
-        ResourcePackInfo info = new ResourcePackInfo(this, resourcePack, type, resourcePackName, true, null, format, description, languageMeta, icon, resourceFilterBlocks, textureAtlases, overlays);
+        Map<String, Long> loadingTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+        ResourcePackInfo info = new ResourcePackInfo(this, resourcePack, type, resourcePackName, true, null, format, description, languageMeta, icon, resourceFilterBlocks, textureAtlases, overlays, loadingTimings);
         resourcePackInfo.add(0, info);
 
         try {
             filterResources(resourceFilterBlocks);
-            loadAssets(assetsFolder, languageMeta, textureAtlases);
+            loadAssets(assetsFolder, languageMeta, textureAtlases, loadingTimings);
             for (PackOverlay overlay : overlays) {
                 if (overlay.getFormats().isCompatible(nativeServerPackFormat)) {
-                    loadAssets(resourcePack.getChild(overlay.getDirectory()).getChild("assets"), languageMeta, textureAtlases);
+                    loadAssets(resourcePack.getChild(overlay.getDirectory()).getChild("assets"), languageMeta, textureAtlases, loadingTimings);
                 }
             }
         } catch (Exception e) {
             new ResourceLoadingException("Unable to load assets for " + resourcePackNameStr, e).printStackTrace();
             resourcePackInfo.remove(0);
-            info = new ResourcePackInfo(this, resourcePack, type, resourcePackName, false, "Unable to load assets", format, description, languageMeta, icon, resourceFilterBlocks, textureAtlases, overlays);
+            info = new ResourcePackInfo(this, resourcePack, type, resourcePackName, false, "Unable to load assets", format, description, languageMeta, icon, resourceFilterBlocks, textureAtlases, overlays, loadingTimings);
             resourcePackInfo.add(0, info);
             return info;
         }
@@ -360,65 +367,84 @@ public class ResourceManager implements AutoCloseable {
         return Collections.unmodifiableMap(atlasesByNamespace);
     }
 
-    private void loadAssets(ResourcePackFile assetsFolder, Map<String, LanguageMeta> languageMeta, Map<String, TextureAtlases> textureAtlases) {
+    private void loadAssets(ResourcePackFile assetsFolder, Map<String, LanguageMeta> languageMeta, Map<String, TextureAtlases> textureAtlases, Map<String, Long> loadingTimings) {
         if (!assetsFolder.exists() || !assetsFolder.isDirectory()) {
             throw new IllegalArgumentException(assetsFolder.getAbsolutePath() + " is not a directory.");
         }
-        Collection<ResourcePackFile> folders = assetsFolder.listFilesAndFolders();
-        for (ResourcePackFile folder : folders) {
+        List<ResourcePackFile> folders = new ArrayList<>();
+        for (ResourcePackFile folder : assetsFolder.listFilesAndFolders()) {
             if (folder.isDirectory()) {
-                String namespace = folder.getName();
-                ResourcePackFile models = folder.getChild("models");
-                if (models.exists() && models.isDirectory()) {
-                    ((AbstractManager) modelManager).loadDirectory(namespace, models);
-                }
+                folders.add(folder);
             }
         }
+        List<AssetLoadingTask> tasks = new ArrayList<>();
         for (ResourcePackFile folder : folders) {
-            if (folder.isDirectory()) {
-                String namespace = folder.getName();
-                ResourcePackFile textures = folder.getChild("textures");
-                if (textures.exists() && textures.isDirectory()) {
-                    if (ResourceRegistry.RESOURCE_PACK_VERSION <= 9) {
-                        ((AbstractManager) textureManager).loadDirectory(namespace, textures);
-                    } else {
-                        ((AbstractManager) textureManager).loadDirectory(namespace, textures, textureAtlases.getOrDefault(namespace, TextureAtlases.EMPTY_ATLAS));
-                    }
-                }
+            String namespace = folder.getName();
+            ResourcePackFile models = folder.getChild("models");
+            if (models.exists() && models.isDirectory()) {
+                tasks.add(new AssetLoadingTask("models", (AbstractManager) modelManager, namespace, models));
             }
         }
         for (ResourcePackFile folder : folders) {
-            if (folder.isDirectory()) {
-                String namespace = folder.getName();
-                ResourcePackFile font = folder.getChild("font");
-                if (font.exists() && font.isDirectory()) {
-                    ((AbstractManager) fontManager).loadDirectory(namespace, font);
+            String namespace = folder.getName();
+            ResourcePackFile textures = folder.getChild("textures");
+            if (textures.exists() && textures.isDirectory()) {
+                if (ResourceRegistry.RESOURCE_PACK_VERSION <= 9) {
+                    tasks.add(new AssetLoadingTask("textures", (AbstractManager) textureManager, namespace, textures));
+                } else {
+                    tasks.add(new AssetLoadingTask("textures", (AbstractManager) textureManager, namespace, textures, textureAtlases.getOrDefault(namespace, TextureAtlases.EMPTY_ATLAS)));
                 }
             }
         }
         for (ResourcePackFile folder : folders) {
-            if (folder.isDirectory()) {
-                String namespace = folder.getName();
-                ResourcePackFile lang = folder.getChild("lang");
-                if (lang.exists() && lang.isDirectory()) {
-                    ((AbstractManager) languageManager).loadDirectory(namespace, lang, languageMeta);
-                }
+            String namespace = folder.getName();
+            ResourcePackFile font = folder.getChild("font");
+            if (font.exists() && font.isDirectory()) {
+                tasks.add(new AssetLoadingTask("fonts", (AbstractManager) fontManager, namespace, font));
+            }
+        }
+        for (ResourcePackFile folder : folders) {
+            String namespace = folder.getName();
+            ResourcePackFile lang = folder.getChild("lang");
+            if (lang.exists() && lang.isDirectory()) {
+                tasks.add(new AssetLoadingTask("languages", (AbstractManager) languageManager, namespace, lang, languageMeta));
             }
         }
         for (ModManager modManager : modManagers.values()) {
             for (String folderName : modManager.getModAssetsFolderNames()) {
                 for (ResourcePackFile folder : folders) {
-                    if (folder.isDirectory()) {
-                        String namespace = folder.getName();
-                        ResourcePackFile modFolder = folder.getChild(folderName);
-                        if (modFolder.exists() && modFolder.isDirectory()) {
-                            modManager.loadDirectory(namespace, modFolder);
-                        }
+                    String namespace = folder.getName();
+                    ResourcePackFile modFolder = folder.getChild(folderName);
+                    if (modFolder.exists() && modFolder.isDirectory()) {
+                        tasks.add(new AssetLoadingTask(modManager.getModName(), modManager, namespace, modFolder));
                     }
                 }
             }
         }
 
+        int parallelism = Math.min(loadingParallelism, tasks.size());
+        if (parallelism <= 1) {
+            for (AssetLoadingTask task : tasks) {
+                task.prepare();
+                task.merge(loadingTimings);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<?>> futures = new ArrayList<>(tasks.size());
+                for (AssetLoadingTask task : tasks) {
+                    futures.add(pool.submit(task::prepare));
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    futures.get(i).join();
+                    tasks.get(i).merge(loadingTimings);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        long start = System.nanoTime();
         ((AbstractManager) modelManager).reload();
         ((AbstractManager) textureManager).reload();
         ((AbstractManager) fontManager).reload();
@@ -426,6 +452,15 @@ public class ResourceManager implements AutoCloseable {
         for (ModManager modManager : modManagers.values()) {
             modManager.reload();
         }
+        loadingTimings.merge("reload", System.nanoTime() - start, Long::sum);
+    }
+
+    public int getLoadingParallelism() {
+        return loadingParallelism;
+    }
+
+    public void setLoadingParallelism(int loadingParallelism) {
+        this.loadingParallelism = Math.max(1, loadingParallelism);
     }
 
     public List<ResourcePackInfo> getResourcePackInfo() {
@@ -584,6 +619,38 @@ public class ResourceManager implements AutoCloseable {
 
     }
 
+    private static class AssetLoadingTask {
+
+        private final String stage;
+        private final AbstractManager manager;
+        private final String namespace;
+        private final ResourcePackFile root;
+        private final Object[] meta;
+        private volatile Runnable mergeAction;
+        private volatile long prepareTime;
+
+        private AssetLoadingTask(String stage, AbstractManager manager, String namespace, ResourcePackFile root, Object... meta) {
+            this.stage = stage;
+            this.manager = manager;
+            this.namespace = namespace;
+            this.root = root;
+            this.meta = meta;
+        }
+
+        private void prepare() {
+            long start = System.nanoTime();
+            mergeAction = manager.prepareDirectory(namespace, root, meta);
+            prepareTime = System.nanoTime() - start;
+        }
+
+        private void merge(Map<String, Long> loadingTimings) {
+            long start = System.nanoTime();
+            mergeAction.run();
+            loadingTimings.merge(stage, prepareTime + (System.nanoTime() - start), Long::sum);
+        }
+
+    }
+
     public static class DefaultResourcePackInfo {
 
         private final Component name;
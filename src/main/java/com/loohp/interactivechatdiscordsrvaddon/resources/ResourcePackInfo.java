@@ -46,8 +46,9 @@ public class ResourcePackInfo {
     private final BufferedImage icon;
     private final List<ResourceFilterBlock> resourceFilterBlocks;
     private final Map<String, TextureAtlases> textureAtlases;
+    private final Map<String, Long> loadingTimings;
 
-    private ResourcePackInfo(ResourceManager manager, ResourcePackFile file, ResourcePackType type, Component name, boolean status, boolean exist, String rejectedReason, PackFormat packFormat, Component description, Map<String, LanguageMeta> languageMeta, List<PackOverlay> overlays, BufferedImage icon, List<ResourceFilterBlock> resourceFilterBlocks, Map<String, TextureAtlases> textureAtlases) {
+    private ResourcePackInfo(ResourceManager manager, ResourcePackFile file, ResourcePackType type, Component name, boolean status, boolean exist, String rejectedReason, PackFormat packFormat, Component description, Map<String, LanguageMeta> languageMeta, List<PackOverlay> overlays, BufferedImage icon, List<ResourceFilterBlock> resourceFilterBlocks, Map<String, TextureAtlases> textureAtlases, Map<String, Long> loadingTimings) {
         this.manager = manager;
         this.file = file;
         this.type = type;
@@ -62,14 +63,19 @@ public class ResourcePackInfo {
         this.icon = icon;
         this.resourceFilterBlocks = resourceFilterBlocks;
         this.textureAtlases = Collections.unmodifiableMap(textureAtlases);
+        this.loadingTimings = Collections.unmodifiableMap(loadingTimings);
+    }
+
+    public ResourcePackInfo(ResourceManager manager, ResourcePackFile file, ResourcePackType type, Component name, boolean status, String rejectedReason, PackFormat packFormat, Component description, Map<String, LanguageMeta> languageMeta, BufferedImage icon, List<ResourceFilterBlock> resourceFilterBlocks, Map<String, TextureAtlases> textureAtlases, List<PackOverlay> overlays, Map<String, Long> loadingTimings) {
+        this(manager, file, type, name, status, true, rejectedReason, packFormat, description, languageMeta, overlays, icon, resourceFilterBlocks, textureAtlases, loadingTimings);
     }
 
     public ResourcePackInfo(ResourceManager manager, ResourcePackFile file, ResourcePackType type, Component name, boolean status, String rejectedReason, PackFormat packFormat, Component description, Map<String, LanguageMeta> languageMeta, BufferedImage icon, List<ResourceFilterBlock> resourceFilterBlocks, Map<String, TextureAtlases> textureAtlases, List<PackOverlay> overlays) {
-        this(manager, file, type, name, status, true, rejectedReason, packFormat, description, languageMeta, overlays, icon, resourceFilterBlocks, textureAtlases);
+        this(manager, file, type, name, status, rejectedReason, packFormat, description, languageMeta, icon, resourceFilterBlocks, textureAtlases, overlays, Collections.emptyMap());
     }
 
     public ResourcePackInfo(ResourceManager manager, ResourcePackFile file, ResourcePackType type, Component name, String rejectedReason) {
-        this(manager, file, type, name, false, false, rejectedReason, null, null, Collections.emptyMap(), Collections.emptyList(), null, Collections.emptyList(), Collections.emptyMap());
+        this(manager, file, type, name, false, false, rejectedReason, null, null, Collections.emptyMap(), Collections.emptyList(), null, Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap());
     }
 
     public ResourceManager getManager() {
@@ -150,4 +156,12 @@ public class ResourcePackInfo {
         return textureAtlases;
     }
 
+    /**
+     * Time spent in each asset loading stage of this pack in nanoseconds, in the order the stages finished.
+     * Stages that are read in parallel report the summed time of all of their tasks.
+     */
+    public Map<String, Long> getLoadingTimings() {
+        return loadingTimings;
+    }
+
 }
@@ -26,9 +26,14 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.zip.ZipEntry;
@@ -39,6 +44,7 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
     private final String absoluteRootPath;
     private final ResourcePackZipEntryFile zipRootFile;
     private final ZipFile zipRoot;
+    private final ZipEntryIndex zipIndex;
     private final String zipPath;
     private final boolean isDirectory;
     private final ZipEntry zipEntry;
@@ -47,6 +53,7 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
         this.absoluteRootPath = resourcePackZip.getAbsolutePath();
         this.zipRootFile = this;
         this.zipRoot = new ZipFile(resourcePackZip);
+        this.zipIndex = new ZipEntryIndex(zipRoot);
         this.zipPath = "";
         this.isDirectory = true;
         this.zipEntry = null;
@@ -56,6 +63,7 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
         this.absoluteRootPath = absoluteRootPath;
         this.zipRootFile = zipRootFile;
         this.zipRoot = zipRoot;
+        this.zipIndex = zipRootFile.zipIndex;
         this.zipPath = zipPath;
         this.isDirectory = isDirectory;
         this.zipEntry = zipEntry;
@@ -100,7 +108,8 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
 
     @Override
     public ResourcePackFile getParentFile() {
-        return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, getParent(), true, null);
+        String parent = getParent();
+        return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, parent == null ? "" : parent, true, null);
     }
 
     @Override
@@ -132,38 +141,36 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
 
     @Override
     public Collection<ResourcePackFile> listFilesAndFolders() {
-        Set<ResourcePackFile> set = new HashSet<>();
-        Enumeration<? extends ZipEntry> itr = zipRoot.entries();
-        while (itr.hasMoreElements()) {
-            ZipEntry entry = itr.nextElement();
-            if (!entry.isDirectory()) {
-                String entryPath = entry.getName();
-                if (!entryPath.equals(zipPath) && entryPath.startsWith(zipPath)) {
-                    String relativePath = entryPath.substring(zipPath.length());
-                    if (relativePath.startsWith("/")) {
-                        relativePath = relativePath.substring(1);
-                    }
-                    if (relativePath.contains("/")) {
-                        String folderName = relativePath.substring(0, relativePath.indexOf("/"));
-                        set.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, (zipPath.isEmpty() ? zipPath : (zipPath + "/")) + folderName, true, null));
-                    } else {
-                        set.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, entryPath, false, entry));
-                    }
-                }
-            }
+        IndexedDirectory directory = zipIndex.getDirectory(zipPath);
+        if (directory == null) {
+            return Collections.emptySet();
+        }
+        Set<ResourcePackFile> set = new HashSet<>(directory.size() * 4 / 3 + 1);
+        String prefix = childPrefix();
+        for (String folderName : directory.getDirectories()) {
+            set.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, prefix + folderName, true, null));
+        }
+        for (ZipEntry entry : directory.getFiles().values()) {
+            set.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, entry.getName(), false, entry));
         }
         return set;
     }
 
     @Override
     public ResourcePackFile getChild(String name) {
-        for (ResourcePackFile entry : listFilesAndFolders()) {
-            ResourcePackZipEntryFile zipEntryFile = (ResourcePackZipEntryFile) entry;
-            if (zipEntryFile.zipPath.equals((zipPath.isEmpty() ? zipPath : (zipPath + "/")) + name)) {
-                return zipEntryFile;
-            }
+        String childPath = childPrefix() + name;
+        ZipEntry entry = zipIndex.getFile(childPath);
+        if (entry != null) {
+            return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, childPath, false, entry);
+        }
+        if (zipIndex.getDirectory(childPath) != null) {
+            return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, childPath, true, null);
         }
-        return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, (zipPath.isEmpty() ? zipPath : (zipPath + "/")) + name, false, null);
+        return new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, childPath, false, null);
+    }
+
+    private String childPrefix() {
+        return zipPath.isEmpty() ? zipPath : (zipPath + "/");
     }
 
     @Override
@@ -190,22 +197,36 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
 
     @Override
     public Collection<ResourcePackFile> listFilesRecursively(String[] extensions) {
-        List<ResourcePackFile> list = new ArrayList<>();
-        Enumeration<? extends ZipEntry> itr = zipRoot.entries();
-        while (itr.hasMoreElements()) {
-            ZipEntry entry = itr.nextElement();
-            if (!entry.isDirectory()) {
-                String entryPath = entry.getName();
-                if ((this.zipEntry == null || !entry.getName().equals(this.zipEntry.getName())) && entryPath.startsWith(zipPath)) {
-                    if (extensions == null || Arrays.stream(extensions).anyMatch(each -> entryPath.endsWith("." + each))) {
-                        list.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, entryPath, false, entry));
-                    }
-                }
+        IndexedDirectory directory = zipIndex.getDirectory(zipPath);
+        if (directory == null) {
+            return Collections.emptyList();
+        }
+        String[] suffixes = null;
+        if (extensions != null) {
+            suffixes = new String[extensions.length];
+            for (int i = 0; i < extensions.length; i++) {
+                suffixes[i] = "." + extensions[i];
             }
         }
+        List<ResourcePackFile> list = new ArrayList<>();
+        listFilesRecursively(zipPath, directory, suffixes, list);
         return list;
     }
 
+    private void listFilesRecursively(String path, IndexedDirectory directory, String[] suffixes, List<ResourcePackFile> list) {
+        for (ZipEntry entry : directory.getFiles().values()) {
+            String entryPath = entry.getName();
+            if (suffixes == null || Arrays.stream(suffixes).anyMatch(each -> entryPath.endsWith(each))) {
+                list.add(new ResourcePackZipEntryFile(absoluteRootPath, zipRootFile, zipRoot, entryPath, false, entry));
+            }
+        }
+        String prefix = path.isEmpty() ? path : (path + "/");
+        for (String folderName : directory.getDirectories()) {
+            String folderPath = prefix + folderName;
+            listFilesRecursively(folderPath, zipIndex.getDirectory(folderPath), suffixes, list);
+        }
+    }
+
     @Override
     public String toString() {
         return getAbsolutePath();
@@ -219,4 +240,73 @@ public class ResourcePackZipEntryFile implements ResourcePackFile {
         }
     }
 
+    private static class ZipEntryIndex {
+
+        private final Map<String, ZipEntry> files;
+        private final Map<String, IndexedDirectory> directories;
+
+        private ZipEntryIndex(ZipFile zipFile) {
+            this.files = new HashMap<>(zipFile.size() * 4 / 3 + 1);
+            this.directories = new HashMap<>();
+            this.directories.put("", new IndexedDirectory());
+            Enumeration<? extends ZipEntry> itr = zipFile.entries();
+            while (itr.hasMoreElements()) {
+                ZipEntry entry = itr.nextElement();
+                if (!entry.isDirectory()) {
+                    String entryPath = entry.getName();
+                    files.put(entryPath, entry);
+                    int lastSlash = entryPath.lastIndexOf("/");
+                    String parentPath = lastSlash < 0 ? "" : entryPath.substring(0, lastSlash);
+                    getOrCreateDirectory(parentPath).files.put(entryPath.substring(lastSlash + 1), entry);
+                }
+            }
+        }
+
+        private IndexedDirectory getOrCreateDirectory(String path) {
+            IndexedDirectory directory = directories.get(path);
+            if (directory != null) {
+                return directory;
+            }
+            directory = new IndexedDirectory();
+            directories.put(path, directory);
+            int lastSlash = path.lastIndexOf("/");
+            String parentPath = lastSlash < 0 ? "" : path.substring(0, lastSlash);
+            getOrCreateDirectory(parentPath).directories.add(path.substring(lastSlash + 1));
+            return directory;
+        }
+
+        public ZipEntry getFile(String path) {
+            return files.get(path);
+        }
+
+        public IndexedDirectory getDirectory(String path) {
+            return directories.get(path);
+        }
+
+    }
+
+    private static class IndexedDirectory {
+
+        private final Map<String, ZipEntry> files;
+        private final Set<String> directories;
+
+        private IndexedDirectory() {
+            this.files = new LinkedHashMap<>();
+            this.directories = new LinkedHashSet<>();
+        }
+
+        public Map<String, ZipEntry> getFiles() {
+            return files;
+        }
+
+        public Set<String> getDirectories() {
+            return directories;
+        }
+
+        public int size() {
+            return files.size() + directories.size();
+        }
+
+    }
+
 }
@@ -37,13 +37,14 @@ import it.unimi.dsi.fastutil.ints.IntSets;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Optional;
 
-public class BitmapFont extends MinecraftFont {
+public class BitmapFont extends GlyphCachedFont {
 
     public static final String TYPE_KEY = "bitmap";
     public static final double ITALIC_SHEAR_X = -4.0 / 14.0;
@@ -146,6 +147,50 @@ public class BitmapFont extends MinecraftFont {
     @Override
     public FontRenderResult printCharacter(BufferedImage image, String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
         decorations = sortDecorations(decorations);
+        GlyphCache.Glyph glyph = getGlyph(character, fontSize, color, decorations);
+        float scale = fontSize / 8;
+        float ascent = this.ascent - 7;
+        float descent = height - this.ascent - 1;
+        int fillHeight = (int) Math.floor(fontSize + (ascent + descent) * scale);
+        int w = glyph.getWidth();
+        int h = glyph.getHeight();
+        Graphics2D g = image.createGraphics();
+        int extraWidth = glyph.isItalic() ? 0 : lastItalicExtraWidth;
+        int sign = fillHeight >= 0 ? 1 : -1;
+        if (sign > 0) {
+            g.drawImage(glyph.getImage(), x + extraWidth, (int) (y - ascent * scale), null);
+        } else {
+            g.drawImage(glyph.getImage(), x + extraWidth, (int) (y - ascent * scale), -w, -h, null);
+        }
+        g.dispose();
+        return new FontRenderResult(image, w * sign + extraWidth, h, glyph.getSpaceWidth(), glyph.getItalicExtraWidth());
+    }
+
+    @Override
+    public FontMeasureResult measureCharacter(String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
+        decorations = sortDecorations(decorations);
+        GlyphCache.Glyph glyph = getGlyph(character, fontSize, color, decorations);
+        float scale = fontSize / 8;
+        float ascent = this.ascent - 7;
+        float descent = height - this.ascent - 1;
+        int fillHeight = (int) Math.floor(fontSize + (ascent + descent) * scale);
+        int w = glyph.getWidth();
+        int h = glyph.getHeight();
+        int extraWidth = glyph.isItalic() ? 0 : lastItalicExtraWidth;
+        int sign = fillHeight >= 0 ? 1 : -1;
+        int drawX = x + extraWidth;
+        int drawY = (int) (y - ascent * scale);
+        Rectangle bounds;
+        if (sign > 0) {
+            bounds = new Rectangle(drawX, drawY, glyph.getImage().getWidth(), glyph.getImage().getHeight());
+        } else {
+            bounds = new Rectangle(drawX - w, drawY - h, w, h);
+        }
+        return new FontMeasureResult(bounds, w * sign + extraWidth, h, glyph.getSpaceWidth(), glyph.getItalicExtraWidth());
+    }
+
+    @Override
+    protected GlyphCache.Glyph rasterizeGlyph(String character, float fontSize, TextColor color, List<TextDecoration> decorations) {
         Color awtColor = new Color(color.value());
         BufferedImage charImage = charImages.get(character.codePointAt(0)).getFontImage();
         int originalW = charImage.getWidth();
@@ -223,18 +268,12 @@ public class BitmapFont extends MinecraftFont {
                     break;
             }
         }
-        Graphics2D g = image.createGraphics();
-        int extraWidth = italic ? 0 : lastItalicExtraWidth;
-        int sign = fillHeight >= 0 ? 1 : -1;
         int spaceWidth = (int) Math.floor(accuratePixelSize * this.scale);
-        if (sign > 0) {
-            g.drawImage(charImage, x + extraWidth, (int) (y - ascent * scale), null);
-        } else {
-            g.drawImage(ImageUtils.flipVertically(charImage), x + extraWidth, (int) (y - ascent * scale), -w, -h, null);
+        if (fillHeight < 0) {
+            charImage = ImageUtils.flipVertically(charImage);
             spaceWidth += Math.round(2 * scale);
         }
-        g.dispose();
-        return new FontRenderResult(image, w * sign + extraWidth, h, spaceWidth, italicExtraWidth);
+        return new GlyphCache.Glyph(charImage, w, h, spaceWidth, italicExtraWidth, italic);
     }
 
     @Override
@@ -49,12 +49,14 @@ public class FontManager extends AbstractManager implements IFontManager {
     private Key defaultKey;
     private Map<String, FontProvider> fonts;
     private Map<String, Map<String, ResourcePackFile>> files;
+    private final GlyphCache glyphCache;
 
     public FontManager(ResourceManager manager) {
         super(manager);
         this.defaultKey = DEFAULT_FONT;
         this.fonts = new HashMap<>();
         this.files = new HashMap<>();
+        this.glyphCache = new GlyphCache();
     }
 
     @Override
@@ -150,8 +152,13 @@ public class FontManager extends AbstractManager implements IFontManager {
         this.defaultKey = defaultKey;
     }
 
+    public GlyphCache getGlyphCache() {
+        return glyphCache;
+    }
+
     @Override
     protected void reload() {
+        glyphCache.clear();
         for (FontProvider provider : fonts.values()) {
             provider.reloadFonts();
         }
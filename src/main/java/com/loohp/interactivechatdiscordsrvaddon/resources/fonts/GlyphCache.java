@@ -0,0 +1,195 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.resources.fonts;
+
+import com.loohp.interactivechat.libs.net.kyori.adventure.text.format.TextDecoration;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.WeightedLRUCache;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+public class GlyphCache {
+
+    public static final long DEFAULT_MAX_SIZE = 16L * 1024L * 1024L;
+
+    private static final long GLYPH_OVERHEAD = 64;
+
+    public static boolean isCacheable(List<TextDecoration> decorations) {
+        return !decorations.contains(TextDecoration.OBFUSCATED);
+    }
+
+    private static int toDecorationMask(List<TextDecoration> decorations) {
+        int mask = 0;
+        for (TextDecoration decoration : decorations) {
+            mask |= 1 << decoration.ordinal();
+        }
+        return mask;
+    }
+
+    private final WeightedLRUCache<GlyphKey, Glyph> cache;
+
+    public GlyphCache(long maxSize) {
+        this.cache = new WeightedLRUCache<>(Math.max(0, maxSize), glyph -> glyph.getMemoryUsage());
+    }
+
+    public GlyphCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public Glyph get(MinecraftFont font, int codePoint, float fontSize, int color, List<TextDecoration> decorations) {
+        return cache.get(new GlyphKey(font, codePoint, fontSize, color, toDecorationMask(decorations)));
+    }
+
+    public void put(MinecraftFont font, int codePoint, float fontSize, int color, List<TextDecoration> decorations, Glyph glyph) {
+        cache.put(new GlyphKey(font, codePoint, fontSize, color, toDecorationMask(decorations)), glyph);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int getCount() {
+        return cache.size();
+    }
+
+    public long getMemoryUsage() {
+        return cache.getWeight();
+    }
+
+    public long getMaxSize() {
+        return cache.getMaxWeight();
+    }
+
+    public void setMaxSize(long maxSize) {
+        cache.setMaxWeight(Math.max(0, maxSize));
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    public static class Glyph {
+
+        public static final Glyph EMPTY = new Glyph(null, 0, 0, 0, 0, false);
+
+        private final BufferedImage image;
+        private final int width;
+        private final int height;
+        private final int spaceWidth;
+        private final int italicExtraWidth;
+        private final boolean italic;
+
+        public Glyph(BufferedImage image, int width, int height, int spaceWidth, int italicExtraWidth, boolean italic) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+            this.spaceWidth = spaceWidth;
+            this.italicExtraWidth = italicExtraWidth;
+            this.italic = italic;
+        }
+
+        public boolean isEmpty() {
+            return this == EMPTY;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getSpaceWidth() {
+            return spaceWidth;
+        }
+
+        public int getItalicExtraWidth() {
+            return italicExtraWidth;
+        }
+
+        public boolean isItalic() {
+            return italic;
+        }
+
+        protected long getMemoryUsage() {
+            return image == null ? GLYPH_OVERHEAD : GLYPH_OVERHEAD + (long) image.getWidth() * (long) image.getHeight() * 4L;
+        }
+
+    }
+
+    private static class GlyphKey {
+
+        private final MinecraftFont font;
+        private final int codePoint;
+        private final float fontSize;
+        private final int color;
+        private final int decorations;
+
+        private GlyphKey(MinecraftFont font, int codePoint, float fontSize, int color, int decorations) {
+            this.font = font;
+            this.codePoint = codePoint;
+            this.fontSize = fontSize;
+            this.color = color;
+            this.decorations = decorations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            GlyphKey glyphKey = (GlyphKey) o;
+            return font == glyphKey.font && codePoint == glyphKey.codePoint && Float.compare(glyphKey.fontSize, fontSize) == 0 && color == glyphKey.color && decorations == glyphKey.decorations;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(font);
+            result = 31 * result + codePoint;
+            result = 31 * result + Float.floatToIntBits(fontSize);
+            result = 31 * result + color;
+            result = 31 * result + decorations;
+            return result;
+        }
+
+    }
+
+}
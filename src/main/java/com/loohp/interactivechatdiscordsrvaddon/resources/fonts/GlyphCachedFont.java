@@ -0,0 +1,55 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.resources.fonts;
+
+import com.loohp.interactivechat.libs.net.kyori.adventure.text.format.TextColor;
+import com.loohp.interactivechat.libs.net.kyori.adventure.text.format.TextDecoration;
+import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceManager;
+
+import java.util.List;
+
+public abstract class GlyphCachedFont extends MinecraftFont {
+
+    public GlyphCachedFont(ResourceManager manager, FontProvider provider) {
+        super(manager, provider);
+    }
+
+    protected GlyphCache getGlyphCache() {
+        return manager.getFontManager().getGlyphCache();
+    }
+
+    protected GlyphCache.Glyph getGlyph(String character, float fontSize, TextColor color, List<TextDecoration> decorations) {
+        if (!GlyphCache.isCacheable(decorations)) {
+            return rasterizeGlyph(character, fontSize, color, decorations);
+        }
+        GlyphCache glyphCache = getGlyphCache();
+        int codePoint = character.codePointAt(0);
+        GlyphCache.Glyph glyph = glyphCache.get(this, codePoint, fontSize, color.value(), decorations);
+        if (glyph == null) {
+            glyph = rasterizeGlyph(character, fontSize, color, decorations);
+            glyphCache.put(this, codePoint, fontSize, color.value(), decorations, glyph);
+        }
+        return glyph;
+    }
+
+    protected abstract GlyphCache.Glyph rasterizeGlyph(String character, float fontSize, TextColor color, List<TextDecoration> decorations);
+
+}
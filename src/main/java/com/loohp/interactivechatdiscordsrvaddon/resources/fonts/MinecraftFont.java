@@ -32,6 +32,7 @@ import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
+import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
@@ -167,6 +168,14 @@ public abstract class MinecraftFont {
 
     public abstract FontRenderResult printCharacter(BufferedImage image, String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations);
 
+    /**
+     * Returns the metrics and the area {@link #printCharacter} would draw on without drawing anything,
+     * or null if this font can only tell after drawing.
+     */
+    public FontMeasureResult measureCharacter(String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
+        return null;
+    }
+
     public abstract Optional<BufferedImage> getCharacterImage(String character, float fontSize, TextColor color);
 
     public abstract int getCharacterWidth(String character);
@@ -211,4 +220,46 @@ public abstract class MinecraftFont {
 
     }
 
+    public static class FontMeasureResult {
+
+        private final Rectangle bounds;
+        private final int width;
+        private final int height;
+        private final int spaceWidth;
+        private final int italicExtraWidth;
+
+        public FontMeasureResult(Rectangle bounds, int width, int height, int spaceWidth, int italicExtraWidth) {
+            this.bounds = bounds;
+            this.width = width;
+            this.height = height;
+            this.spaceWidth = spaceWidth;
+            this.italicExtraWidth = italicExtraWidth;
+        }
+
+        public boolean hasBounds() {
+            return bounds != null;
+        }
+
+        public Rectangle getBounds() {
+            return bounds;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getSpaceWidth() {
+            return spaceWidth;
+        }
+
+        public int getItalicExtraWidth() {
+            return italicExtraWidth;
+        }
+
+    }
+
 }
@@ -59,6 +59,11 @@ public class ReferenceFont extends MinecraftFont {
         return getReferencedFontProvider().forCharacter(character).printCharacter(image, character, x, y, fontSize, lastItalicExtraWidth, color, decorations);
     }
 
+    @Override
+    public FontMeasureResult measureCharacter(String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
+        return getReferencedFontProvider().forCharacter(character).measureCharacter(character, x, y, fontSize, lastItalicExtraWidth, color, decorations);
+    }
+
     @Override
     public Optional<BufferedImage> getCharacterImage(String character, float fontSize, TextColor color) {
         return getReferencedFontProvider().forCharacter(character).getCharacterImage(character, fontSize, color);
@@ -133,6 +133,26 @@ public class SpaceFont extends MinecraftFont {
         }
     }
 
+    @Override
+    public FontMeasureResult measureCharacter(String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
+        if (decorations.contains(TextDecoration.ITALIC) || decorations.contains(TextDecoration.STRIKETHROUGH) || decorations.contains(TextDecoration.UNDERLINED)) {
+            return null;
+        }
+        int advance = (int) Math.round(charAdvances.get(character.codePointAt(0)) * 0.75);
+        if (advance == 0) {
+            return new FontMeasureResult(null, 0, 0, 0, lastItalicExtraWidth);
+        }
+        int sign = advance < 0 ? -1 : 1;
+        int originalW = Math.abs(advance);
+        int w = (int) Math.round(originalW * ((double) Math.round(fontSize) / (double) DEFAULT_HEIGHT));
+        int h = Math.round(fontSize);
+        int pixelSize = Math.round((float) w / (float) originalW);
+        if (decorations.contains(TextDecoration.BOLD)) {
+            w += (int) (fontSize / 16.0 * 2) - 1;
+        }
+        return new FontMeasureResult(null, w * sign + lastItalicExtraWidth, h, pixelSize, 0);
+    }
+
     @Override
     public Optional<BufferedImage> getCharacterImage(String character, float fontSize, TextColor color) {
         int advance = (int) Math.round(charAdvances.get(character.codePointAt(0)) * 0.75);
@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TrueTypeFont extends MinecraftFont {
 
@@ -59,6 +60,8 @@ public class TrueTypeFont extends MinecraftFont {
     private IntSet displayableCharacters;
     private Graphics2D internalGraphics;
     private Font font;
+    private Font sizedFont;
+    private Map<Long, Font> derivedFonts;
 
     public TrueTypeFont(ResourceManager manager, FontProvider provider, String resourceLocation, AffineTransform shift, float size, float oversample, String exclude) {
         super(manager, provider);
@@ -68,6 +71,7 @@ public class TrueTypeFont extends MinecraftFont {
         this.oversample = oversample;
         this.exclude = exclude;
         this.internalGraphics = null;
+        this.derivedFonts = new ConcurrentHashMap<>();
 
         try {
             GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames();
@@ -83,11 +87,13 @@ public class TrueTypeFont extends MinecraftFont {
             this.internalGraphics.dispose();
             this.internalGraphics = null;
         }
+        this.derivedFonts.clear();
         try {
             this.font = Font.createFont(Font.TRUETYPE_FONT, manager.getFontManager().getFontResource(resourceLocation).getFile().getInputStream()).deriveFont(shift);
             GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(this.font);
+            this.sizedFont = font.deriveFont(size);
             this.internalGraphics = INTERNAL_IMAGE.createGraphics();
-            this.internalGraphics.setFont(font.deriveFont(size));
+            this.internalGraphics.setFont(sizedFont);
 
             IntSet displayableCharacters = new IntLinkedOpenHashSet();
             for (int i = 0; i < 0x10F800; i += 1) {
@@ -146,7 +152,28 @@ public class TrueTypeFont extends MinecraftFont {
         return displayableCharacters;
     }
 
-    @SuppressWarnings("rawtypes")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Font getDerivedFont(float fontSize, boolean italic, boolean strikethrough, boolean underlined) {
+        long key = ((long) Float.floatToIntBits(fontSize) << 3) | (italic ? 1 : 0) | (strikethrough ? 2 : 0) | (underlined ? 4 : 0);
+        return derivedFonts.computeIfAbsent(key, k -> {
+            Font fontToPrint = font.deriveFont(fontSize);
+            if (italic) {
+                fontToPrint = fontToPrint.deriveFont(Font.ITALIC);
+            }
+            if (strikethrough) {
+                Map attributes = fontToPrint.getAttributes();
+                attributes.put(TextAttribute.STRIKETHROUGH, true);
+                fontToPrint = new Font(attributes);
+            }
+            if (underlined) {
+                Map attributes = fontToPrint.getAttributes();
+                attributes.put(TextAttribute.UNDERLINE, true);
+                fontToPrint = new Font(attributes);
+            }
+            return fontToPrint;
+        });
+    }
+
     @Override
     public FontRenderResult printCharacter(BufferedImage image, String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
         float scale = fontSize / 16;
@@ -154,12 +181,13 @@ public class TrueTypeFont extends MinecraftFont {
         decorations = sortDecorations(decorations);
         Graphics2D g = image.createGraphics();
         g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        g.setFont(font.deriveFont(this.size));
+        g.setFont(sizedFont);
         int w = g.getFontMetrics().stringWidth(character);
-        Font fontToPrint = font.deriveFont(fontSize);
         BufferedImage[] magicCharImages = null;
         boolean bold = false;
         boolean italic = false;
+        boolean strikethrough = false;
+        boolean underlined = false;
         for (TextDecoration decoration : decorations) {
             switch (decoration) {
                 case OBFUSCATED:
@@ -173,25 +201,20 @@ public class TrueTypeFont extends MinecraftFont {
                     bold = true;
                     break;
                 case ITALIC:
-                    fontToPrint = fontToPrint.deriveFont(Font.ITALIC);
                     italic = true;
                     break;
                 case STRIKETHROUGH:
-                    Map attributes = fontToPrint.getAttributes();
-                    attributes.put(TextAttribute.STRIKETHROUGH, true);
-                    fontToPrint = new Font(attributes);
+                    strikethrough = true;
                     break;
                 case UNDERLINED:
-                    attributes = fontToPrint.getAttributes();
-                    attributes.put(TextAttribute.UNDERLINE, true);
-                    fontToPrint = new Font(attributes);
+                    underlined = true;
                     break;
                 default:
                     break;
             }
         }
         g.setColor(new Color(color.value()));
-        g.setFont(fontToPrint);
+        g.setFont(getDerivedFont(fontSize, italic, strikethrough, underlined));
         int height = g.getFontMetrics().getHeight() / 2;
         int newW = g.getFontMetrics().stringWidth(character);
         int finalWidth = newW;
@@ -222,9 +245,8 @@ public class TrueTypeFont extends MinecraftFont {
     public Optional<BufferedImage> getCharacterImage(String character, float fontSize, TextColor color) {
         BufferedImage image = new BufferedImage((int) (10 * fontSize), (int) (10 * fontSize), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = image.createGraphics();
-        Font fontToPrint = font.deriveFont(fontSize);
         g.setColor(new Color(color.value()));
-        g.setFont(fontToPrint);
+        g.setFont(getDerivedFont(fontSize, false, false, false));
         int height = g.getFontMetrics().getHeight() / 2;
         g.drawString(character, 0, height);
         image = ImageUtils.copyAndGetSubImage(image, 0, 0, g.getFontMetrics().stringWidth(character), height);
@@ -40,6 +40,7 @@ import it.unimi.dsi.fastutil.ints.IntSets;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
@@ -52,7 +53,7 @@ import java.util.Optional;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
-public class UnihexFont extends MinecraftFont {
+public class UnihexFont extends GlyphCachedFont {
 
     public static final String TYPE_KEY = "unihex";
     public static final double ITALIC_SHEAR_X = -4.0 / 14.0;
@@ -249,6 +250,31 @@ public class UnihexFont extends MinecraftFont {
     @Override
     public FontRenderResult printCharacter(BufferedImage image, String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
         decorations = sortDecorations(decorations);
+        GlyphCache.Glyph glyph = getGlyph(character, fontSize, color, decorations);
+        if (glyph.isEmpty()) {
+            return new FontRenderResult(image, 0, 0, 0, lastItalicExtraWidth);
+        }
+        Graphics2D g = image.createGraphics();
+        int extraWidth = glyph.isItalic() ? 0 : lastItalicExtraWidth;
+        g.drawImage(glyph.getImage(), x + extraWidth, y, null);
+        g.dispose();
+        return new FontRenderResult(image, glyph.getWidth() + extraWidth, glyph.getHeight(), glyph.getSpaceWidth(), glyph.getItalicExtraWidth());
+    }
+
+    @Override
+    public FontMeasureResult measureCharacter(String character, int x, int y, float fontSize, int lastItalicExtraWidth, TextColor color, List<TextDecoration> decorations) {
+        decorations = sortDecorations(decorations);
+        GlyphCache.Glyph glyph = getGlyph(character, fontSize, color, decorations);
+        if (glyph.isEmpty()) {
+            return new FontMeasureResult(null, 0, 0, 0, lastItalicExtraWidth);
+        }
+        int extraWidth = glyph.isItalic() ? 0 : lastItalicExtraWidth;
+        Rectangle bounds = new Rectangle(x + extraWidth, y, glyph.getImage().getWidth(), glyph.getImage().getHeight());
+        return new FontMeasureResult(bounds, glyph.getWidth() + extraWidth, glyph.getHeight(), glyph.getSpaceWidth(), glyph.getItalicExtraWidth());
+    }
+
+    @Override
+    protected GlyphCache.Glyph rasterizeGlyph(String character, float fontSize, TextColor color, List<TextDecoration> decorations) {
         Color awtColor = new Color(color.value());
         Optional<FontResource> optCharImage = charImages.get(character.codePointAt(0));
         if (optCharImage == null) {
@@ -329,13 +355,9 @@ public class UnihexFont extends MinecraftFont {
                         break;
                 }
             }
-            Graphics2D g = image.createGraphics();
-            int extraWidth = italic ? 0 : lastItalicExtraWidth;
-            g.drawImage(charImage, x + extraWidth, y, null);
-            g.dispose();
-            return new FontRenderResult(image, w + extraWidth, h, (int) Math.floor(accuratePixelSize + 1), italicExtraWidth);
+            return new GlyphCache.Glyph(charImage, w, h, (int) Math.floor(accuratePixelSize + 1), italicExtraWidth, italic);
         } else {
-            return new FontRenderResult(image, 0, 0, 0, lastItalicExtraWidth);
+            return GlyphCache.Glyph.EMPTY;
         }
     }
 
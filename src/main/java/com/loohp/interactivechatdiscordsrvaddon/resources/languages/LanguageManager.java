@@ -81,12 +81,18 @@ public class LanguageManager extends AbstractManager implements ILanguageManager
 
     @Override
     protected void loadDirectory(String namespace, ResourcePackFile root, Object... meta) {
+        prepareDirectory(namespace, root, meta).run();
+    }
+
+    @Override
+    protected Runnable prepareDirectory(String namespace, ResourcePackFile root, Object... meta) {
         if (!root.exists() || !root.isDirectory()) {
             throw new IllegalArgumentException(root.getAbsolutePath() + " is not a directory.");
         }
+        Map<? extends String, ? extends LanguageMeta> languageMeta = null;
         if (meta.length >= 0) {
             try {
-                this.languageMeta.putAll((Map<? extends String, ? extends LanguageMeta>) meta[0]);
+                languageMeta = (Map<? extends String, ? extends LanguageMeta>) meta[0];
             } catch (Throwable e) {
                 new ResourceLoadingException("Invalid meta arguments, Map<? extends String, ? extends LanguageMeta> expected!", e).printStackTrace();
             }
@@ -126,15 +132,21 @@ public class LanguageManager extends AbstractManager implements ILanguageManager
                 }
             }
         }
-        for (Entry<String, Map<String, String>> entry : translations.entrySet()) {
-            String key = entry.getKey();
-            Map<String, String> mapping = this.translations.get(key);
-            if (mapping == null) {
-                this.translations.put(key, entry.getValue());
-            } else {
-                mapping.putAll(entry.getValue());
+        Map<? extends String, ? extends LanguageMeta> finalLanguageMeta = languageMeta;
+        return () -> {
+            if (finalLanguageMeta != null) {
+                this.languageMeta.putAll(finalLanguageMeta);
             }
-        }
+            for (Entry<String, Map<String, String>> entry : translations.entrySet()) {
+                String key = entry.getKey();
+                Map<String, String> mapping = this.translations.get(key);
+                if (mapping == null) {
+                    this.translations.put(key, entry.getValue());
+                } else {
+                    mapping.putAll(entry.getValue());
+                }
+            }
+        };
     }
 
     @Override
@@ -29,11 +29,14 @@ import com.loohp.interactivechatdiscordsrvaddon.resources.ResourcePackFile;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.ModelOverride.ModelOverrideType;
 import com.loohp.interactivechatdiscordsrvaddon.utils.TriFunction;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class ModelManager extends AbstractManager implements IModelManager {
@@ -46,16 +49,23 @@ public class ModelManager extends AbstractManager implements IModelManager {
     public static final String ITEM_BASE_LAYER = "layer";
 
     private Map<String, BlockModel> models;
+    private volatile ResolvedModelCache resolvedModels;
     private TriFunction<IModelManager, String, JSONObject, ? extends BlockModel> modelParsingFunction;
 
     public ModelManager(ResourceManager manager) {
         super(manager);
         this.models = new HashMap<>();
+        this.resolvedModels = new ResolvedModelCache();
         this.modelParsingFunction = DEFAULT_MODEL_PARSING_FUNCTION;
     }
 
     @Override
     protected void loadDirectory(String namespace, ResourcePackFile root, Object... meta) {
+        prepareDirectory(namespace, root, meta).run();
+    }
+
+    @Override
+    protected Runnable prepareDirectory(String namespace, ResourcePackFile root, Object... meta) {
         if (!root.exists() || !root.isDirectory()) {
             throw new IllegalArgumentException(root.getAbsolutePath() + " is not a directory.");
         }
@@ -72,7 +82,10 @@ public class ModelManager extends AbstractManager implements IModelManager {
                 new ResourceLoadingException("Unable to load block model " + file.getAbsolutePath(), e).printStackTrace();
             }
         }
-        this.models.putAll(models);
+        return () -> {
+            this.models.putAll(models);
+            this.resolvedModels = new ResolvedModelCache();
+        };
     }
 
     @Override
@@ -89,11 +102,12 @@ public class ModelManager extends AbstractManager implements IModelManager {
                 itr.remove();
             }
         }
+        resolvedModels = new ResolvedModelCache();
     }
 
     @Override
     protected void reload() {
-
+        resolvedModels = new ResolvedModelCache();
     }
 
     public TriFunction<IModelManager, String, JSONObject, ? extends BlockModel> getModelParsingFunction() {
@@ -115,23 +129,48 @@ public class ModelManager extends AbstractManager implements IModelManager {
 
     @Override
     public BlockModel resolveBlockModel(String resourceLocation, boolean is1_8, Map<ModelOverrideType, Float> predicates) {
-        BlockModel model = models.get(resourceLocation);
-        if (model == null) {
-            return null;
+        Map<String, ResolvedBlockModel> cache = resolvedModels.get(is1_8);
+        ResolvedBlockModel resolved = cache.get(resourceLocation);
+        if (resolved == null) {
+            resolved = compileBlockModel(resourceLocation, is1_8);
+            if (resolved == null) {
+                return null;
+            }
+            ResolvedBlockModel existing = cache.putIfAbsent(resourceLocation, resolved);
+            if (existing != null) {
+                resolved = existing;
+            }
         }
-        for (ModelOverride override : model.getOverrides()) {
+        for (ModelOverride override : resolved.getOverrides()) {
             if (override.test(predicates)) {
                 return resolveBlockModel(override.getModel(), is1_8, null);
             }
         }
+        if (resolved.getBuiltinModel() != null) {
+            BlockModel builtinModel = resolveBlockModel(resolved.getBuiltinModel(), is1_8, predicates);
+            if (builtinModel != null) {
+                return builtinModel;
+            }
+        }
+        return resolved.getModel();
+    }
+
+    private ResolvedBlockModel compileBlockModel(String resourceLocation, boolean is1_8) {
+        BlockModel model = models.get(resourceLocation);
+        if (model == null) {
+            return null;
+        }
+        List<ModelOverride> overrides = new ArrayList<>(model.getOverrides());
+        List<ModelOverride> lastOverrides = model.getOverrides();
+        String builtinModel = null;
         while (model.getParent() != null) {
             if (model.getParent().equals(ITEM_BASE)) {
                 break;
             }
             if (model.getParent().equals(BLOCK_ENTITY_BASE)) {
-                BlockModel builtinModel = resolveBlockModel(ResourceRegistry.BUILTIN_ENTITY_MODEL_LOCATION + resourceLocation.substring(resourceLocation.lastIndexOf("/") + 1), is1_8, predicates);
-                if (builtinModel != null) {
-                    return builtinModel;
+                String builtinLocation = ResourceRegistry.BUILTIN_ENTITY_MODEL_LOCATION + resourceLocation.substring(resourceLocation.lastIndexOf("/") + 1);
+                if (models.containsKey(builtinLocation)) {
+                    builtinModel = builtinLocation;
                 }
                 break;
             }
@@ -139,14 +178,55 @@ public class ModelManager extends AbstractManager implements IModelManager {
             if (parent == null) {
                 break;
             }
-            for (ModelOverride override : model.getOverrides()) {
-                if (override.test(predicates)) {
-                    return resolveBlockModel(override.getModel(), is1_8, null);
-                }
+            if (model.getOverrides() != lastOverrides) {
+                overrides.addAll(model.getOverrides());
+                lastOverrides = model.getOverrides();
             }
             model = model.resolve(parent, is1_8);
         }
-        return model.resolve( is1_8);
+        return new ResolvedBlockModel(overrides, builtinModel, model.resolve(is1_8));
+    }
+
+    private static class ResolvedModelCache {
+
+        private final Map<String, ResolvedBlockModel> legacy;
+        private final Map<String, ResolvedBlockModel> modern;
+
+        private ResolvedModelCache() {
+            this.legacy = new ConcurrentHashMap<>();
+            this.modern = new ConcurrentHashMap<>();
+        }
+
+        private Map<String, ResolvedBlockModel> get(boolean is1_8) {
+            return is1_8 ? legacy : modern;
+        }
+
+    }
+
+    private static class ResolvedBlockModel {
+
+        private final ModelOverride[] overrides;
+        private final String builtinModel;
+        private final BlockModel model;
+
+        private ResolvedBlockModel(List<ModelOverride> overrides, String builtinModel, BlockModel model) {
+            this.overrides = overrides.toArray(new ModelOverride[0]);
+            this.builtinModel = builtinModel;
+            this.model = model;
+        }
+
+        private ModelOverride[] getOverrides() {
+            return overrides;
+        }
+
+        private String getBuiltinModel() {
+            return builtinModel;
+        }
+
+        private BlockModel getModel() {
+            return model;
+        }
+
     }
 
 }
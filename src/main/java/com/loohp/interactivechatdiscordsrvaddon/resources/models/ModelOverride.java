@@ -35,10 +35,27 @@ public class ModelOverride {
 
     private final Map<ModelOverrideType, Float> predicates;
     private final String model;
+    private final ModelOverrideType[] thresholdTypes;
+    private final float[] thresholds;
 
     public ModelOverride(Map<ModelOverrideType, Float> predicates, String model) {
         this.predicates = Collections.unmodifiableMap(predicates);
         this.model = model;
+        int size = 0;
+        for (Float value : predicates.values()) {
+            if (value != null) {
+                size++;
+            }
+        }
+        this.thresholdTypes = new ModelOverrideType[size];
+        this.thresholds = new float[size];
+        int i = 0;
+        for (Entry<ModelOverrideType, Float> entry : predicates.entrySet()) {
+            if (entry.getValue() != null) {
+                thresholdTypes[i] = entry.getKey();
+                thresholds[i++] = entry.getValue();
+            }
+        }
     }
 
     public Map<ModelOverrideType, Float> getPredicates() {
@@ -54,16 +71,15 @@ public class ModelOverride {
     }
 
     public boolean test(Map<ModelOverrideType, Float> data) {
+        if (thresholds.length == 0) {
+            return true;
+        }
         if (data == null) {
             data = Collections.emptyMap();
         }
-        for (Entry<ModelOverrideType, Float> entry : predicates.entrySet()) {
-            if (entry.getValue() != null) {
-                float value = floatValueOr(data.get(entry.getKey()), Float.NEGATIVE_INFINITY);
-                float valueComparing = entry.getValue();
-                if (value < valueComparing) {
-                    return false;
-                }
+        for (int i = 0; i < thresholds.length; i++) {
+            if (floatValueOr(data.get(thresholdTypes[i]), Float.NEGATIVE_INFINITY) < thresholds[i]) {
+                return false;
             }
         }
         return true;
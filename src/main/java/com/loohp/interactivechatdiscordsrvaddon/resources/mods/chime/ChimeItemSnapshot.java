@@ -0,0 +1,83 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime;
+
+import com.loohp.interactivechat.libs.net.kyori.adventure.text.Component;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
+import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.UnaryOperator;
+
+public class ChimeItemSnapshot {
+
+    private final ItemStackSnapshot snapshot;
+    private final UnaryOperator<String> translateFunction;
+    private String displayName;
+
+    public ChimeItemSnapshot(ItemStack itemStack, UnaryOperator<String> translateFunction) {
+        this(new ItemStackSnapshot(itemStack), translateFunction);
+    }
+
+    public ChimeItemSnapshot(ItemStackSnapshot snapshot, UnaryOperator<String> translateFunction) {
+        this.snapshot = snapshot;
+        this.translateFunction = translateFunction;
+        this.displayName = null;
+    }
+
+    public ItemStack getItemStack() {
+        return snapshot.getItemStack();
+    }
+
+    public ItemStackSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public CompoundTag getTag() {
+        return snapshot.getTag();
+    }
+
+    public String getDisplayName() {
+        if (displayName == null) {
+            displayName = resolveDisplayName();
+        }
+        return displayName;
+    }
+
+    private String resolveDisplayName() {
+        ItemStack itemStack = snapshot.getItemStack();
+        if (itemStack.getItemMeta() == null || !itemStack.getItemMeta().hasDisplayName()) {
+            return "";
+        }
+        CompoundTag tag = getTag();
+        if (tag == null) {
+            return "";
+        }
+        String rawStringValue = tag.getCompoundTag("display").getString("Name");
+        try {
+            Component component = InteractiveChatComponentSerializer.gson().deserialize(rawStringValue);
+            return ChimeUtils.componentToString(component, translateFunction);
+        } catch (Throwable ignore) {
+            return rawStringValue;
+        }
+    }
+
+}
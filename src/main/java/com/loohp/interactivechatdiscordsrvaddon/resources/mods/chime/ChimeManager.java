@@ -24,6 +24,7 @@ import com.loohp.interactivechat.libs.org.apache.commons.io.input.BOMInputStream
 import com.loohp.interactivechat.libs.org.json.simple.JSONObject;
 import com.loohp.interactivechat.libs.org.json.simple.parser.JSONParser;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.registry.ResourceRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.CustomItemTextureRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceLoadingException;
@@ -166,13 +167,18 @@ public class ChimeManager extends ModManager implements IChimeManager {
     }
 
     public BlockModel resolveBlockModel(String resourceLocation, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, ItemStack itemStack, UnaryOperator<String> translateFunction) {
+        return resolveBlockModel(resourceLocation, is1_8, predicates, player, world, entity, new ItemStackSnapshot(itemStack), translateFunction);
+    }
+
+    public BlockModel resolveBlockModel(String resourceLocation, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction) {
         BlockModel model = getRawBlockModel(resourceLocation, true);
         if (model == null) {
             return null;
         }
+        ChimeItemSnapshot snapshot = new ChimeItemSnapshot(itemStackSnapshot, translateFunction);
         for (ModelOverride override : model.getOverrides()) {
             if (override instanceof ChimeModelOverride) {
-                if (((ChimeModelOverride) override).test(predicates, player, world, entity, itemStack, translateFunction)) {
+                if (((ChimeModelOverride) override).test(predicates, player, world, entity, snapshot, translateFunction)) {
                     return resolveBlockModel(override.getModel(), is1_8, null);
                 }
             } else {
@@ -198,7 +204,7 @@ public class ChimeManager extends ModManager implements IChimeManager {
             }
             for (ModelOverride override : model.getOverrides()) {
                 if (override instanceof ChimeModelOverride) {
-                    if (((ChimeModelOverride) override).test(predicates, player, world, entity, itemStack, translateFunction)) {
+                    if (((ChimeModelOverride) override).test(predicates, player, world, entity, snapshot, translateFunction)) {
                         return resolveBlockModel(override.getModel(), is1_8, null);
                     }
                 } else {
@@ -25,13 +25,13 @@ import com.loohp.interactivechat.libs.io.github.bananapuncher714.nbteditor.NBTEd
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
 import com.loohp.interactivechat.libs.org.json.simple.JSONObject;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
 import com.loohp.interactivechat.utils.NBTParsingUtils;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.BiomePrecipitation;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.ModelOverride;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimePredicateEnums.ItemInHand;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimePredicateEnums.TargetType;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimeUtils.HashPredicate;
+import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimeUtils.NamePredicate;
 import com.loohp.interactivechatdiscordsrvaddon.utils.WorldUtils;
 import com.loohp.interactivechatdiscordsrvaddon.wrappers.DimensionManagerWrapper;
 import org.bukkit.Bukkit;
@@ -50,7 +50,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.function.UnaryOperator;
-import java.util.regex.Pattern;
 
 public class ChimeModelOverride extends ModelOverride {
 
@@ -89,11 +88,15 @@ public class ChimeModelOverride extends ModelOverride {
     }
 
     public boolean test(Map<ModelOverrideType, Float> data, OfflineICPlayer player, World world, LivingEntity entity, ItemStack itemStack, UnaryOperator<String> translateFunction) {
+        return test(data, player, world, entity, new ChimeItemSnapshot(itemStack, translateFunction), translateFunction);
+    }
+
+    public boolean test(Map<ModelOverrideType, Float> data, OfflineICPlayer player, World world, LivingEntity entity, ChimeItemSnapshot snapshot, UnaryOperator<String> translateFunction) {
         if (!super.test(data)) {
             return false;
         }
         for (Entry<ChimeModelOverrideType, Object> entry : chimePredicates.entrySet()) {
-            if (!entry.getKey().test(entry.getValue(), player, world, entity, itemStack, translateFunction)) {
+            if (!entry.getKey().test(entry.getValue(), player, world, entity, snapshot, translateFunction)) {
                 return false;
             }
         }
@@ -123,88 +126,73 @@ public class ChimeModelOverride extends ModelOverride {
     @SuppressWarnings("deprecation")
     public enum ChimeModelOverrideType {
 
-        COUNT("count", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        COUNT("count", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return value.contains(itemStack.getAmount());
         }),
-        DURABILITY("durability", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DURABILITY("durability", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (itemStack.getItemMeta() instanceof Damageable) {
                 return value.contains(((Damageable) itemStack.getItemMeta()).getDamage());
             } else {
                 return value.contains(0);
             }
         }),
-        NBT("nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
-            String nbt = ItemNBTUtils.getNMSItemStackJson(itemStack);
-            CompoundTag compoundTag = (CompoundTag) NBTParsingUtils.fromSNBT(nbt);
-            if (compoundTag.containsKey("tag")) {
-                return ChimeUtils.matchesJsonObject(value, compoundTag.getCompoundTag("tag"));
-            } else {
-                return false;
-            }
+        NBT("nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
+            CompoundTag tag = snapshot.getTag();
+            return tag != null && ChimeUtils.matchesJsonObject(value, tag);
         }),
-        NAME("name", String.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
-            String name = ChimeUtils.getItemDisplayName(itemStack, translateFunction);
-            if (value.startsWith("/") && value.endsWith("/")) {
-                return Pattern.matches(value.substring(1, value.length() - 1), name);
-            } else {
-                return value.equals(name);
-            }
+        NAME("name", NamePredicate.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
+            return value.matches(snapshot.getDisplayName());
         }),
-        HASH("hash", HashPredicate.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
-            String nbt = ItemNBTUtils.getNMSItemStackJson(itemStack);
-            CompoundTag compoundTag = (CompoundTag) NBTParsingUtils.fromSNBT(nbt);
-            if (compoundTag.containsKey("tag")) {
-                return value.matches(compoundTag.getCompoundTag("tag"));
-            } else {
-                return false;
-            }
+        HASH("hash", HashPredicate.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
+            CompoundTag tag = snapshot.getTag();
+            return tag != null && value.matches(tag);
         }),
-        DIMENSION_ID("dimension/id", String.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_ID("dimension/id", String.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && WorldUtils.getNamespacedKey(world).equals(value);
         }),
-        DIMENSION_HAS_SKY_LIGHT("dimension/has_sky_light", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_HAS_SKY_LIGHT("dimension/has_sky_light", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).hasSkyLight() == value;
         }),
-        DIMENSION_HAS_CEILING("dimension/has_ceiling", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_HAS_CEILING("dimension/has_ceiling", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).hasCeiling() == value;
         }),
-        DIMENSION_ULTRAWARM("dimension/ultrawarm", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_ULTRAWARM("dimension/ultrawarm", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).ultraWarm() == value;
         }),
-        DIMENSION_NATURAL("dimension/natural", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_NATURAL("dimension/natural", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).natural() == value;
         }),
-        DIMENSION_HAS_ENDER_DRAGON_FIGHT("dimension/has_ender_dragon_fight", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_HAS_ENDER_DRAGON_FIGHT("dimension/has_ender_dragon_fight", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).createDragonFight() == value;
         }),
-        DIMENSION_PIGLIN_SAFE("dimension/piglin_safe", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_PIGLIN_SAFE("dimension/piglin_safe", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).piglinSafe() == value;
         }),
-        DIMENSION_BED_WORKS("dimension/bed_works", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_BED_WORKS("dimension/bed_works", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).bedWorks() == value;
         }),
-        DIMENSION_RESPAWN_ANCHOR_WORKS("dimension/respawn_anchor_works", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_RESPAWN_ANCHOR_WORKS("dimension/respawn_anchor_works", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).respawnAnchorWorks() == value;
         }),
-        DIMENSION_HAS_RAIDS("dimension/has_raids", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        DIMENSION_HAS_RAIDS("dimension/has_raids", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && new DimensionManagerWrapper(world).hasRaids() == value;
         }),
-        WORLD_RAINING("world/raining", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_RAINING("world/raining", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && world.hasStorm() == value;
         }),
-        WORLD_THUNDERING("world/thundering", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_THUNDERING("world/thundering", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && world.isThundering() == value;
         }),
-        WORLD_BIOME_ID("world/biome/id", String.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_BIOME_ID("world/biome/id", String.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return world != null && livingEntity != null && world.getBiome(livingEntity.getLocation()).getKey().toString().equals(value);
         }),
-        WORLD_BIOME_PRECIPITATION("world/biome/precipitation", BiomePrecipitation.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_BIOME_PRECIPITATION("world/biome/precipitation", BiomePrecipitation.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (world == null || livingEntity == null) {
                 return false;
             }
             return WorldUtils.getPrecipitation(livingEntity.getLocation()).equals(value);
         }),
-        WORLD_BIOME_TEMPERATURE("world/biome/temperature", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_BIOME_TEMPERATURE("world/biome/temperature", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (world == null || livingEntity == null) {
                 return false;
             }
@@ -215,7 +203,7 @@ public class ChimeModelOverride extends ModelOverride {
                 return value.contains(world.getTemperature(location.getBlockX(), location.getBlockZ()));
             }
         }),
-        WORLD_BIOME_DOWNFALL("world/biome/downfall", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        WORLD_BIOME_DOWNFALL("world/biome/downfall", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (world == null || livingEntity == null) {
                 return false;
             }
@@ -226,7 +214,7 @@ public class ChimeModelOverride extends ModelOverride {
                 return value.contains(world.getHumidity(location.getBlockX(), location.getBlockZ()));
             }
         }),
-        ENTITY_NBT("entity/nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_NBT("entity/nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
@@ -234,32 +222,32 @@ public class ChimeModelOverride extends ModelOverride {
             CompoundTag compoundTag = (CompoundTag) NBTParsingUtils.fromSNBT(nbt);
             return ChimeUtils.matchesJsonObject(value, compoundTag);
         }),
-        ENTITY_X("entity/x", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_X("entity/x", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getX());
         }),
-        ENTITY_Y("entity/y", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_Y("entity/y", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getY());
         }),
-        ENTITY_Z("entity/z", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_Z("entity/z", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getZ());
         }),
-        ENTITY_LIGHT("entity/light", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_LIGHT("entity/light", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getBlock().getLightLevel());
         }),
-        ENTITY_BLOCK_LIGHT("entity/block_light", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_BLOCK_LIGHT("entity/block_light", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getBlock().getLightFromBlocks());
         }),
-        ENTITY_SKY_LIGHT("entity/sky_light", Range.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_SKY_LIGHT("entity/sky_light", Range.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             return livingEntity != null && value.contains(livingEntity.getLocation().getBlock().getLightFromSky());
         }),
-        ENTITY_CAN_SEE_SKY("entity/can_see_sky", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_CAN_SEE_SKY("entity/can_see_sky", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
             Location location = livingEntity.getEyeLocation();
             return (livingEntity.getWorld().getHighestBlockYAt(location) <= location.getY()) == value;
         }),
-        ENTITY_HAND("entity/hand", ItemInHand.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_HAND("entity/hand", ItemInHand.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 if (player == null) {
                     return false;
@@ -292,7 +280,7 @@ public class ChimeModelOverride extends ModelOverride {
             }
             return false;
         }),
-        ENTITY_SLOT("entity/slot", EquipmentSlot.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_SLOT("entity/slot", EquipmentSlot.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 if (player == null) {
                     return false;
@@ -321,7 +309,7 @@ public class ChimeModelOverride extends ModelOverride {
             }
             return false;
         }),
-        ENTITY_TARGET("entity/target", TargetType.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_TARGET("entity/target", TargetType.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (!(livingEntity instanceof Player)) {
                 return false;
             }
@@ -336,7 +324,7 @@ public class ChimeModelOverride extends ModelOverride {
             }
             return false;
         }),
-        ENTITY_TARGET_BLOCK_ID("entity/target_block/id", String.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_TARGET_BLOCK_ID("entity/target_block/id", String.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
@@ -360,7 +348,7 @@ public class ChimeModelOverride extends ModelOverride {
                 return value.equals(material.getKey().toString());
             }
         }),
-        ENTITY_TARGET_BLOCK_CAN_MINE("entity/target_block/can_mine", boolean.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_TARGET_BLOCK_CAN_MINE("entity/target_block/can_mine", boolean.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
@@ -370,7 +358,7 @@ public class ChimeModelOverride extends ModelOverride {
             }
             return result.getHitBlock().isPreferredTool(itemStack);
         }),
-        ENTITY_TARGET_ENTITY_ID("entity/target_entity/id", String.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_TARGET_ENTITY_ID("entity/target_entity/id", String.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
@@ -383,7 +371,7 @@ public class ChimeModelOverride extends ModelOverride {
             }
             return result.getHitEntity().getType().getKey().toString().equals(value);
         }),
-        ENTITY_TARGET_ENTITY_NBT("entity/target_entity/nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, translateFunction) -> {
+        ENTITY_TARGET_ENTITY_NBT("entity/target_entity/nbt", JSONObject.class, (value, player, world, livingEntity, itemStack, snapshot, translateFunction) -> {
             if (livingEntity == null) {
                 return false;
             }
@@ -421,8 +409,12 @@ public class ChimeModelOverride extends ModelOverride {
         }
 
         public boolean test(Object value, OfflineICPlayer player, World world, LivingEntity entity, ItemStack itemStack, UnaryOperator<String> translateFunction) {
+            return test(value, player, world, entity, new ChimeItemSnapshot(itemStack, translateFunction), translateFunction);
+        }
+
+        public boolean test(Object value, OfflineICPlayer player, World world, LivingEntity entity, ChimeItemSnapshot snapshot, UnaryOperator<String> translateFunction) {
             try {
-                return predicate.test(value, player, world, entity, itemStack, translateFunction);
+                return predicate.test(value, player, world, entity, snapshot.getItemStack(), snapshot, translateFunction);
             } catch (Throwable e) {
                 return false;
             }
@@ -459,7 +451,7 @@ public class ChimeModelOverride extends ModelOverride {
     @FunctionalInterface
     public interface ChimeOverridePredicate<T> {
 
-        boolean test(T t, OfflineICPlayer player, World world, LivingEntity entity, ItemStack itemStack, UnaryOperator<String> translateFunction) throws Throwable;
+        boolean test(T t, OfflineICPlayer player, World world, LivingEntity entity, ItemStack itemStack, ChimeItemSnapshot snapshot, UnaryOperator<String> translateFunction) throws Throwable;
 
     }
 
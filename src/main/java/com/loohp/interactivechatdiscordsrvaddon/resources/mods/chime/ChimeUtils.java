@@ -36,9 +36,6 @@ import com.loohp.interactivechat.libs.net.querz.nbt.tag.StringTag;
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.Tag;
 import com.loohp.interactivechat.libs.org.json.simple.JSONArray;
 import com.loohp.interactivechat.libs.org.json.simple.JSONObject;
-import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
-import com.loohp.interactivechat.utils.NBTParsingUtils;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.BiomePrecipitation;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimeModelOverride.ChimeModelOverrideType;
 import com.loohp.interactivechatdiscordsrvaddon.resources.mods.chime.ChimePredicateEnums.ItemInHand;
@@ -47,29 +44,17 @@ import com.loohp.interactivechatdiscordsrvaddon.utils.ComponentStringUtils;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.IOException;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class ChimeUtils {
 
     public static String getItemDisplayName(ItemStack itemStack, UnaryOperator<String> translateFunction) {
-        if (itemStack.getItemMeta() == null || !itemStack.getItemMeta().hasDisplayName()) {
-            return "";
-        }
-        try {
-            String rawStringValue = ((CompoundTag) NBTParsingUtils.fromSNBT(ItemNBTUtils.getNMSItemStackJson(itemStack))).getCompoundTag("tag").getCompoundTag("display").getString("Name");
-            try {
-                Component component = InteractiveChatComponentSerializer.gson().deserialize(rawStringValue);
-                return componentToString(component, translateFunction);
-            } catch (Throwable ignore) {
-                return rawStringValue;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return "";
+        return new ChimeItemSnapshot(itemStack, translateFunction).getDisplayName();
     }
 
     public static String componentToString(Component component, UnaryOperator<String> translateFunction) {
@@ -99,6 +84,8 @@ public class ChimeUtils {
                 Class<?> valueType = type.getValueType();
                 if (valueType.equals(String.class)) {
                     map.put(type, value.toString());
+                } else if (valueType.equals(NamePredicate.class)) {
+                    map.put(type, new NamePredicate(value.toString()));
                 } else if (valueType.equals(Range.class)) {
                     map.put(type, parseRange(Float.class, value.toString()));
                 } else if (valueType.equals(HashPredicate.class)) {
@@ -229,20 +216,18 @@ public class ChimeUtils {
         public final String subTag;
         public final int modulo;
         public final Range<Float> value;
+        private final String[] path;
 
         public HashPredicate(String subTag, int modulo, Range<Float> value) {
             this.subTag = subTag;
             this.modulo = modulo;
             this.value = value;
+            this.path = Arrays.stream(subTag.split("/")).filter(t -> !t.isEmpty()).toArray(String[]::new);
         }
 
         public boolean matches(Tag<?> tag) {
             try {
-                String[] tags = subTag.split("/");
-                for (String t : tags) {
-                    if (t.length() == 0) {
-                        continue;
-                    }
+                for (String t : path) {
                     tag = ((CompoundTag) tag).get(t);
                 }
                 int i = tag.toString().hashCode();
@@ -268,4 +253,48 @@ public class ChimeUtils {
 
     }
 
+    public static class NamePredicate {
+
+        public final String value;
+        private final boolean regex;
+        private final Pattern pattern;
+
+        public NamePredicate(String value) {
+            this.value = value;
+            this.regex = value.length() > 1 && value.startsWith("/") && value.endsWith("/");
+            Pattern pattern = null;
+            if (regex) {
+                try {
+                    pattern = Pattern.compile(value.substring(1, value.length() - 1));
+                } catch (PatternSyntaxException ignore) {
+                }
+            }
+            this.pattern = pattern;
+        }
+
+        public boolean matches(String name) {
+            if (regex) {
+                return pattern != null && pattern.matcher(name).matches();
+            }
+            return value.equals(name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return value.equals(((NamePredicate) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+    }
+
 }
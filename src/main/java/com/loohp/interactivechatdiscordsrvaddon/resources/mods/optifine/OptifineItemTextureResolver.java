@@ -22,6 +22,7 @@ package com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine;
 
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
 import com.loohp.interactivechat.objectholders.ValuePairs;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.resources.CustomItemTextureRegistry.CustomItemTextureResolver;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.BlockModel;
 import com.loohp.interactivechatdiscordsrvaddon.resources.models.ModelOverride.ModelOverrideType;
@@ -57,6 +58,14 @@ public class OptifineItemTextureResolver implements CustomItemTextureResolver {
         return new ValuePairs<>(pair.getFirst(), map);
     }
 
+    @Override
+    public ValuePairs<BlockModel, Map<String, TextureResource>> getItemPostResolveFunction(ValuePairs<BlockModel, Map<String, TextureResource>> previousResult, String modelKey, EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, boolean is1_8, Map<ModelOverrideType, Float> predicates, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction) {
+        Map<String, TextureResource> map = previousResult.getSecond();
+        ValuePairs<BlockModel, Map<String, TextureResource>> pair = optifineManager.getItemPostResolveFunction(heldSlot, itemStackSnapshot, is1_8, predicates, translateFunction).apply(previousResult.getFirst());
+        map.putAll(pair.getSecond());
+        return new ValuePairs<>(pair.getFirst(), map);
+    }
+
     @Override
     public Optional<TextureResource> getElytraOverrideTextures(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction) {
         return Optional.ofNullable(optifineManager.getElytraOverrideTextures(heldSlot, itemStack, translateFunction));
@@ -67,6 +76,11 @@ public class OptifineItemTextureResolver implements CustomItemTextureResolver {
         return optifineManager.getEnchantmentGlintOverrideTextures(heldSlot, itemStack, translateFunction);
     }
 
+    @Override
+    public List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction) {
+        return optifineManager.getEnchantmentGlintOverrideTextures(heldSlot, itemStackSnapshot, translateFunction);
+    }
+
     @Override
     public Optional<TextureResource> getArmorOverrideTextures(String layer, EquipmentSlot heldSlot, ItemStack itemStack, OfflineICPlayer player, World world, LivingEntity entity, UnaryOperator<String> translateFunction) {
         return Optional.ofNullable(optifineManager.getArmorOverrideTextures(layer, heldSlot, itemStack, translateFunction));
@@ -23,8 +23,10 @@ package com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine;
 import com.loohp.interactivechat.libs.org.apache.commons.io.input.BOMInputStream;
 import com.loohp.interactivechat.libs.org.json.simple.JSONObject;
 import com.loohp.interactivechat.libs.org.json.simple.parser.JSONParser;
+import com.loohp.interactivechat.objectholders.ICMaterial;
 import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.registry.ResourceRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.CustomItemTextureRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ModelRenderer;
@@ -71,6 +73,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
@@ -87,12 +90,16 @@ public class OptifineManager extends ModManager implements IOptifineManager {
 
     private CITGlobalProperties citGlobalProperties;
     private Map<String, ValuePairs<ResourcePackFile, CITProperties>> citOverrides;
+    private Map<Class<? extends CITProperties>, Map<ICMaterial, List<ValuePairs<ResourcePackFile, CITProperties>>>> citIndex;
+    private Map<Class<? extends CITProperties>, Map<ICMaterial, List<ValuePairs<ResourcePackFile, CITProperties>>>> citLoadOrderIndex;
 
     public OptifineManager(ResourceManager manager) {
         super(manager, MOD_NAME, ASSETS_FOLDERS);
         this.assets = new HashMap<>();
         this.citGlobalProperties = null;
         this.citOverrides = new LinkedHashMap<>();
+        this.citIndex = new ConcurrentHashMap<>();
+        this.citLoadOrderIndex = new ConcurrentHashMap<>();
         if (manager.hasResourceRegistry(CustomItemTextureRegistry.IDENTIFIER)) {
             manager.getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).appendResolver(new OptifineItemTextureResolver(this));
         }
@@ -139,6 +146,8 @@ public class OptifineManager extends ModManager implements IOptifineManager {
                             reader.close();
                             CITProperties citProperties = CITProperties.fromProperties(file, properties);
                             citOverrides.put(key, new ValuePairs<>(file, citProperties));
+                            citIndex.clear();
+                            citLoadOrderIndex.clear();
                         }
                     } else {
                         assets.put(key, new ValuePairs<>(file, null));
@@ -171,6 +180,8 @@ public class OptifineManager extends ModManager implements IOptifineManager {
                 itr2.remove();
             }
         }
+        citIndex.clear();
+        citLoadOrderIndex.clear();
     }
 
     @Override
@@ -183,7 +194,14 @@ public class OptifineManager extends ModManager implements IOptifineManager {
         if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
             return ModelRenderer.DEFAULT_POST_RESOLVE_FUNCTION;
         }
-        ValuePairs<ResourcePackFile, ItemProperties> citOverride = getCITOverride(heldSlot, itemStack, translateFunction, ItemProperties.class);
+        return getItemPostResolveFunction(heldSlot, new ItemStackSnapshot(itemStack), is1_8, predicates, translateFunction);
+    }
+
+    public Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>> getItemPostResolveFunction(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, boolean is1_8, Map<ModelOverrideType, Float> predicates, UnaryOperator<String> translateFunction) {
+        if (itemStackSnapshot.getItemStack().getType().equals(Material.AIR)) {
+            return ModelRenderer.DEFAULT_POST_RESOLVE_FUNCTION;
+        }
+        ValuePairs<ResourcePackFile, ItemProperties> citOverride = getCITOverride(heldSlot, itemStackSnapshot, translateFunction, ItemProperties.class);
         if (citOverride == null) {
             return ModelRenderer.DEFAULT_POST_RESOLVE_FUNCTION;
         } else {
@@ -306,11 +324,17 @@ public class OptifineManager extends ModManager implements IOptifineManager {
 
     @Override
     public List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction) {
-        Map<String, TextureResource> overrideTextures = new HashMap<>();
         if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
             return getCITGlobalProperties().isUseGlint() ? Collections.emptyList() : Collections.singletonList(new ValuePairs<>(new GeneratedTextureResource(manager, BLANK_ENCHANTMENT), OpenGLBlending.ADD));
         }
-        List<ValuePairs<ResourcePackFile, EnchantmentProperties>> citOverrides = getCITOverrides(heldSlot, itemStack, translateFunction, EnchantmentProperties.class);
+        return getEnchantmentGlintOverrideTextures(heldSlot, new ItemStackSnapshot(itemStack), translateFunction);
+    }
+
+    public List<ValuePairs<TextureResource, OpenGLBlending>> getEnchantmentGlintOverrideTextures(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction) {
+        if (itemStackSnapshot.getItemStack().getType().equals(Material.AIR)) {
+            return getCITGlobalProperties().isUseGlint() ? Collections.emptyList() : Collections.singletonList(new ValuePairs<>(new GeneratedTextureResource(manager, BLANK_ENCHANTMENT), OpenGLBlending.ADD));
+        }
+        List<ValuePairs<ResourcePackFile, EnchantmentProperties>> citOverrides = getCITOverrides(heldSlot, itemStackSnapshot, translateFunction, EnchantmentProperties.class);
         List<ValuePairs<TextureResource, OpenGLBlending>> result = new ArrayList<>();
         Object2IntMap<TextureResource> layer = new Object2IntOpenHashMap<>();
         for (ValuePairs<ResourcePackFile, EnchantmentProperties> citOverride : citOverrides) {
@@ -329,7 +353,7 @@ public class OptifineManager extends ModManager implements IOptifineManager {
                 String extension = path.substring(path.lastIndexOf(".") + 1);
                 String resourceLocation = resolveAsset(citOverride.getFirst(), path, "png");
                 BufferedImage texture = getTexture(resourceLocation).getTexture();
-                Map<Enchantment, Integer> stackEnchantments = itemStack.getEnchantments();
+                Map<Enchantment, Integer> stackEnchantments = itemStackSnapshot.getEnchantments();
                 float intensity;
                 switch (getCITGlobalProperties().getMethod()) {
                     case AVERAGE: {
@@ -458,26 +482,71 @@ public class OptifineManager extends ModManager implements IOptifineManager {
         return citOverrides;
     }
 
-    @Override
-    public <T extends CITProperties> ValuePairs<ResourcePackFile, T> getCITOverride(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction, Class<T> type) {
-        ValuePairs<ResourcePackFile, T> result = null;
-        int weight = Integer.MIN_VALUE;
+    private List<ValuePairs<ResourcePackFile, CITProperties>> getCITCandidates(ItemStackSnapshot itemStackSnapshot, Class<? extends CITProperties> type, boolean weightOrdered) {
+        if (itemStackSnapshot.getItemStack().getType().equals(Material.AIR)) {
+            return Collections.emptyList();
+        }
+        Map<ICMaterial, List<ValuePairs<ResourcePackFile, CITProperties>>> index;
+        if (weightOrdered) {
+            index = citIndex.computeIfAbsent(type, k -> buildCITIndex(k, true));
+        } else {
+            index = citLoadOrderIndex.computeIfAbsent(type, k -> buildCITIndex(k, false));
+        }
+        return index.getOrDefault(itemStackSnapshot.getICMaterial(), Collections.emptyList());
+    }
+
+    private Map<ICMaterial, List<ValuePairs<ResourcePackFile, CITProperties>>> buildCITIndex(Class<? extends CITProperties> type, boolean weightOrdered) {
+        //weight ordered buckets keep load order within the same weight, so the first match in a bucket is the one the linear scan used to pick
+        Map<ICMaterial, List<ValuePairs<ResourcePackFile, CITProperties>>> index = new HashMap<>();
         for (ValuePairs<ResourcePackFile, CITProperties> pair : citOverrides.values()) {
             CITProperties citProperties = pair.getSecond();
-            if (type.isInstance(citProperties) && citProperties.getWeight() > weight && citProperties.test(heldSlot, itemStack, translateFunction)) {
-                weight = citProperties.getWeight();
-                result = (ValuePairs<ResourcePackFile, T>) pair;
+            if (type.isInstance(citProperties)) {
+                for (ICMaterial material : citProperties.getItems()) {
+                    index.computeIfAbsent(material, k -> new ArrayList<>()).add(pair);
+                }
             }
         }
-        return result;
+        if (weightOrdered) {
+            for (List<ValuePairs<ResourcePackFile, CITProperties>> bucket : index.values()) {
+                bucket.sort(Comparator.comparing((ValuePairs<ResourcePackFile, CITProperties> each) -> each.getSecond().getWeight()).reversed());
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public <T extends CITProperties> ValuePairs<ResourcePackFile, T> getCITOverride(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction, Class<T> type) {
+        if (itemStack == null) {
+            return null;
+        }
+        return getCITOverride(heldSlot, new ItemStackSnapshot(itemStack), translateFunction, type);
+    }
+
+    public <T extends CITProperties> ValuePairs<ResourcePackFile, T> getCITOverride(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction, Class<T> type) {
+        ItemStack itemStack = itemStackSnapshot.getItemStack();
+        CITProperties.ItemTag itemTag = new CITProperties.ItemTag(itemStackSnapshot);
+        for (ValuePairs<ResourcePackFile, CITProperties> pair : getCITCandidates(itemStackSnapshot, type, true)) {
+            if (pair.getSecond().test(heldSlot, itemStack, translateFunction, itemTag)) {
+                return (ValuePairs<ResourcePackFile, T>) pair;
+            }
+        }
+        return null;
     }
 
     @Override
     public <T extends CITProperties> List<ValuePairs<ResourcePackFile, T>> getCITOverrides(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction, Class<T> type) {
+        if (itemStack == null) {
+            return new ArrayList<>();
+        }
+        return getCITOverrides(heldSlot, new ItemStackSnapshot(itemStack), translateFunction, type);
+    }
+
+    public <T extends CITProperties> List<ValuePairs<ResourcePackFile, T>> getCITOverrides(EquipmentSlot heldSlot, ItemStackSnapshot itemStackSnapshot, UnaryOperator<String> translateFunction, Class<T> type) {
         List<ValuePairs<ResourcePackFile, T>> result = new ArrayList<>();
-        for (ValuePairs<ResourcePackFile, CITProperties> pair : citOverrides.values()) {
-            CITProperties citProperties = pair.getSecond();
-            if (type.isInstance(citProperties) && citProperties.test(heldSlot, itemStack, translateFunction)) {
+        ItemStack itemStack = itemStackSnapshot.getItemStack();
+        CITProperties.ItemTag itemTag = new CITProperties.ItemTag(itemStackSnapshot);
+        for (ValuePairs<ResourcePackFile, CITProperties> pair : getCITCandidates(itemStackSnapshot, type, false)) {
+            if (pair.getSecond().test(heldSlot, itemStack, translateFunction, itemTag)) {
                 result.add((ValuePairs<ResourcePackFile, T>) pair);
             }
         }
@@ -0,0 +1,142 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine.cit;
+
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.ByteTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.DoubleTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.FloatTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.IntTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.ListTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.LongTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.ShortTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.StringTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.Tag;
+import com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine.cit.CITProperties.ItemTag;
+
+import java.util.function.UnaryOperator;
+
+public class CITNbtMatcher {
+
+    private static final int NO_MATCH = 0;
+    private static final int MATCH = 1;
+    private static final int ERROR = 2;
+
+    private final String key;
+    private final String[] segments;
+    private final boolean[] wildcards;
+    private final int[] listIndices;
+    private final CITValueMatcher valueMatcher;
+
+    public CITNbtMatcher(String key, CITValueMatcher valueMatcher) {
+        this.key = key;
+        this.segments = key.split("\\.");
+        this.wildcards = new boolean[segments.length];
+        this.listIndices = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            wildcards[i] = segment.equals("*");
+            try {
+                listIndices[i] = Integer.parseInt(segment);
+            } catch (NumberFormatException e) {
+                listIndices[i] = Integer.MIN_VALUE;
+            }
+        }
+        this.valueMatcher = valueMatcher;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public CITValueMatcher getValueMatcher() {
+        return valueMatcher;
+    }
+
+    public boolean test(CompoundTag tag, ItemTag itemTag, UnaryOperator<String> translateFunction) {
+        return walk(tag, 0, itemTag, translateFunction) == MATCH;
+    }
+
+    private int walk(Tag<?> tag, int depth, ItemTag itemTag, UnaryOperator<String> translateFunction) {
+        if (depth >= segments.length) {
+            return matchesValue(tag, itemTag, translateFunction) ? MATCH : NO_MATCH;
+        }
+        if (wildcards[depth]) {
+            if (tag instanceof CompoundTag) {
+                for (Tag<?> child : ((CompoundTag) tag).values()) {
+                    int result = walk(child, depth + 1, itemTag, translateFunction);
+                    if (result != NO_MATCH) {
+                        return result;
+                    }
+                }
+            } else if (tag instanceof ListTag<?>) {
+                for (Tag<?> child : (ListTag<?>) tag) {
+                    int result = walk(child, depth + 1, itemTag, translateFunction);
+                    if (result != NO_MATCH) {
+                        return result;
+                    }
+                }
+            }
+            return NO_MATCH;
+        }
+        Tag<?> next = tag;
+        if (tag instanceof CompoundTag) {
+            next = ((CompoundTag) tag).get(segments[depth]);
+        } else if (tag instanceof ListTag<?>) {
+            ListTag<?> listTag = (ListTag<?>) tag;
+            int index = listIndices[depth];
+            if (index < 0 || index >= listTag.size()) {
+                return ERROR;
+            }
+            next = listTag.get(index);
+        }
+        return walk(next, depth + 1, itemTag, translateFunction);
+    }
+
+    private boolean matchesValue(Tag<?> tag, ItemTag itemTag, UnaryOperator<String> translateFunction) {
+        try {
+            if (tag instanceof StringTag) {
+                String rawStringValue = ((StringTag) tag).getValue();
+                if (valueMatcher.matches(rawStringValue)) {
+                    return true;
+                }
+                String plainText = itemTag.getPlainText(rawStringValue, translateFunction);
+                return plainText != null && valueMatcher.matches(plainText);
+            } else if (tag instanceof IntTag) {
+                return tag.equals(valueMatcher.intTag());
+            } else if (tag instanceof LongTag) {
+                return tag.equals(valueMatcher.longTag());
+            } else if (tag instanceof ByteTag) {
+                return tag.equals(valueMatcher.byteTag());
+            } else if (tag instanceof ShortTag) {
+                return tag.equals(valueMatcher.shortTag());
+            } else if (tag instanceof FloatTag) {
+                return tag.equals(valueMatcher.floatTag());
+            } else if (tag instanceof DoubleTag) {
+                return tag.equals(valueMatcher.doubleTag());
+            } else if (tag instanceof CompoundTag || tag instanceof ListTag) {
+                return tag.equals(valueMatcher.tag());
+            }
+        } catch (Throwable ignore) {
+        }
+        return false;
+    }
+
+}
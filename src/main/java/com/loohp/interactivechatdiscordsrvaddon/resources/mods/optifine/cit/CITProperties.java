@@ -20,23 +20,12 @@
 
 package com.loohp.interactivechatdiscordsrvaddon.resources.mods.optifine.cit;
 
-import com.loohp.interactivechat.InteractiveChat;
 import com.loohp.interactivechat.libs.net.kyori.adventure.text.Component;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.ByteTag;
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.DoubleTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.FloatTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.IntTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.ListTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.LongTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.ShortTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.StringTag;
-import com.loohp.interactivechat.libs.net.querz.nbt.tag.Tag;
 import com.loohp.interactivechat.objectholders.ICMaterial;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
-import com.loohp.interactivechat.utils.NBTParsingUtils;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.IntegerRange;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.PercentageOrIntegerRange;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceLoadingException;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourcePackFile;
@@ -46,11 +35,8 @@ import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.Damageable;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -256,6 +242,7 @@ public abstract class CITProperties {
     protected final EquipmentSlot hand;
     protected final Map<Enchantment, IntegerRange> enchantments;
     protected final Map<String, CITValueMatcher> nbtMatch;
+    protected final List<CITNbtMatcher> nbtMatchers;
 
     public CITProperties(int weight, Set<ICMaterial> items, IntegerRange stackSize, PercentageOrIntegerRange damage, int damageMask, EquipmentSlot hand, Map<Enchantment, IntegerRange> enchantments, Map<String, CITValueMatcher> nbtMatch) {
         this.weight = weight;
@@ -266,6 +253,10 @@ public abstract class CITProperties {
         this.hand = hand;
         this.enchantments = enchantments;
         this.nbtMatch = nbtMatch;
+        this.nbtMatchers = new ArrayList<>(nbtMatch.size());
+        for (Entry<String, CITValueMatcher> entry : nbtMatch.entrySet()) {
+            nbtMatchers.add(new CITNbtMatcher(entry.getKey(), entry.getValue()));
+        }
     }
 
     public int getWeight() {
@@ -300,142 +291,97 @@ public abstract class CITProperties {
         return nbtMatch;
     }
 
-    @SuppressWarnings("deprecation")
+    public List<CITNbtMatcher> getNbtMatchers() {
+        return nbtMatchers;
+    }
+
     public boolean test(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction) {
+        return test(heldSlot, itemStack, translateFunction, new ItemTag(itemStack));
+    }
+
+    public boolean test(EquipmentSlot heldSlot, ItemStack itemStack, UnaryOperator<String> translateFunction, ItemTag itemTag) {
         if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
             return false;
         }
-        if (!items.contains(ICMaterial.from(itemStack))) {
+        ItemStackSnapshot snapshot = itemTag.getSnapshot();
+        if (!items.contains(snapshot.getICMaterial())) {
             return false;
         }
-        if (!stackSize.test(itemStack.getAmount())) {
+        if (!stackSize.test(snapshot.getAmount())) {
             return false;
         }
-        int maxDurability = itemStack.getType().getMaxDurability();
-        int damage = 0;
-        if (InteractiveChat.version.isLegacy()) {
-            damage = itemStack.getDurability();
-        } else {
-            if (itemStack.getItemMeta() instanceof Damageable) {
-                damage = ((Damageable) itemStack.getItemMeta()).getDamage();
-            }
-        }
-        if (!this.damage.test(damage & damageMask, maxDurability)) {
+        if (!this.damage.test(snapshot.getDamage() & damageMask, snapshot.getMaxDurability())) {
             return false;
         }
         if (hand != null && !hand.equals(heldSlot)) {
             return false;
         }
-        if (!enchantments.isEmpty() && enchantments.entrySet().stream().noneMatch(entry -> entry.getValue().test(itemStack.getEnchantmentLevel(entry.getKey())))) {
+        if (!enchantments.isEmpty() && enchantments.entrySet().stream().noneMatch(entry -> entry.getValue().test(snapshot.getEnchantments().getOrDefault(entry.getKey(), 0)))) {
             return false;
         }
-        try {
-            String nbt = ItemNBTUtils.getNMSItemStackJson(itemStack);
-            CompoundTag tag = (CompoundTag) NBTParsingUtils.fromSNBT(nbt);
-            if (tag.containsKey("tag")) {
-                tag = tag.getCompoundTag("tag");
-                for (Entry<String, CITValueMatcher> entry : nbtMatch.entrySet()) {
-                    String key = entry.getKey();
-                    CITValueMatcher nbtValueMatcher = entry.getValue();
-                    String[] paths = key.split("\\.");
-                    List<Tag<?>> subTags = new ArrayList<>(Collections.singletonList(tag));
-                    try {
-                        for (String path : paths) {
-                            for (int i = 0; i < subTags.size(); i++) {
-                                Tag<?> subTag = subTags.get(i);
-                                if (path.equals("*")) {
-                                    Collection<Tag<?>> tags;
-                                    if (subTag instanceof CompoundTag) {
-                                        tags = ((CompoundTag) subTag).values();
-                                    } else if (subTag instanceof ListTag<?>) {
-                                        tags = new ArrayList<>();
-                                        for (Tag<?> t : (ListTag<?>) subTag) {
-                                            tags.add(t);
-                                        }
-                                    } else {
-                                        tags = Collections.emptyList();
-                                    }
-                                    subTags.remove(i);
-                                    subTags.addAll(i, tags);
-                                    i += tags.size() - 1;
-                                } else {
-                                    if (subTag instanceof CompoundTag) {
-                                        subTag = ((CompoundTag) subTag).get(path);
-                                    } else if (subTag instanceof ListTag<?>) {
-                                        subTag = ((ListTag<?>) subTag).get(Integer.parseInt(path));
-                                    }
-                                    subTags.set(i, subTag);
-                                }
-                            }
-                        }
-                    } catch (Throwable e) {
-                        return false;
-                    }
-                    if (subTags.stream().noneMatch(subTag -> {
-                        try {
-                            if (subTag instanceof StringTag) {
-                                String rawStringValue = ((StringTag) subTag).getValue();
-                                String jsonResultValue;
-                                try {
-                                    Component component = InteractiveChatComponentSerializer.gson().deserialize(rawStringValue);
-                                    jsonResultValue = OptifineUtils.componentToString(component, translateFunction);
-                                } catch (Throwable ignore) {
-                                    jsonResultValue = null;
-                                }
-                                if (!nbtValueMatcher.matches(rawStringValue) && (jsonResultValue == null || !nbtValueMatcher.matches(jsonResultValue))) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof IntTag) {
-                                if (!nbtValueMatcher.intTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof LongTag) {
-                                if (!nbtValueMatcher.longTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof ByteTag) {
-                                if (!nbtValueMatcher.byteTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof ShortTag) {
-                                if (!nbtValueMatcher.shortTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof FloatTag) {
-                                if (!nbtValueMatcher.floatTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof DoubleTag) {
-                                if (!nbtValueMatcher.doubleTag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else if (subTag instanceof CompoundTag || subTag instanceof ListTag) {
-                                if (!nbtValueMatcher.tag().equals(subTag)) {
-                                    return false;
-                                }
-                            } else {
-                                return false;
-                            }
-                        } catch (Throwable e) {
-                            return false;
-                        }
-                        return true;
-                    })) {
-                        return false;
-                    }
-                }
-            } else {
-                if (!nbtMatch.isEmpty()) {
-                    return false;
-                }
-            }
-        } catch (Throwable e) {
-            e.printStackTrace();
+        if (nbtMatchers.isEmpty()) {
+            return true;
+        }
+        if (!itemTag.isValid()) {
             return false;
         }
+        CompoundTag tag = itemTag.getTag();
+        if (tag == null) {
+            return false;
+        }
+        for (CITNbtMatcher nbtMatcher : nbtMatchers) {
+            if (!nbtMatcher.test(tag, itemTag, translateFunction)) {
+                return false;
+            }
+        }
         return true;
     }
 
     public abstract String getOverrideAsset(String path, String extension);
 
+    public static class ItemTag {
+
+        private final ItemStackSnapshot snapshot;
+        private Map<String, String> plainTexts;
+
+        public ItemTag(ItemStack itemStack) {
+            this(new ItemStackSnapshot(itemStack));
+        }
+
+        public ItemTag(ItemStackSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.plainTexts = null;
+        }
+
+        public ItemStackSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        public boolean isValid() {
+            return snapshot.isValid();
+        }
+
+        public CompoundTag getTag() {
+            return snapshot.getTag();
+        }
+
+        public String getPlainText(String rawStringValue, UnaryOperator<String> translateFunction) {
+            if (plainTexts == null) {
+                plainTexts = new HashMap<>();
+            } else if (plainTexts.containsKey(rawStringValue)) {
+                return plainTexts.get(rawStringValue);
+            }
+            String plainText;
+            try {
+                Component component = InteractiveChatComponentSerializer.gson().deserialize(rawStringValue);
+                plainText = OptifineUtils.componentToString(component, translateFunction);
+            } catch (Throwable ignore) {
+                plainText = null;
+            }
+            plainTexts.put(rawStringValue, plainText);
+            return plainText;
+        }
+
+    }
+
 }
@@ -102,15 +102,22 @@ public class TextureManager extends AbstractManager implements ITextureManager {
 
     private Map<String, TextureResource> textures;
     private Map<String, TextureAtlases> textureAtlases;
+    private final TexturePool texturePool;
 
     public TextureManager(ResourceManager manager) {
         super(manager);
         this.textures = new HashMap<>();
         this.textureAtlases = new HashMap<>();
+        this.texturePool = new TexturePool();
     }
 
     @Override
     protected void loadDirectory(String namespace, ResourcePackFile root, Object... meta) {
+        prepareDirectory(namespace, root, meta).run();
+    }
+
+    @Override
+    protected Runnable prepareDirectory(String namespace, ResourcePackFile root, Object... meta) {
         if (!root.exists() || !root.isDirectory()) {
             throw new IllegalArgumentException(root.getAbsolutePath() + " is not a directory.");
         }
@@ -169,10 +176,13 @@ public class TextureManager extends AbstractManager implements ITextureManager {
                 new ResourceLoadingException("Unable to load block model " + file.getAbsolutePath(), e).printStackTrace();
             }
         }
-        this.textures.putAll(textures);
-        if (textureAtlases != null) {
-            this.textureAtlases.put(namespace, textureAtlases);
-        }
+        TextureAtlases finalTextureAtlases = textureAtlases;
+        return () -> {
+            this.textures.putAll(textures);
+            if (finalTextureAtlases != null) {
+                this.textureAtlases.put(namespace, finalTextureAtlases);
+            }
+        };
     }
 
     private Iterable<List<TextureAtlases.TextureAtlasSource>> getFullTextureAtlasSource(TextureAtlases textureAtlases) {
@@ -223,6 +233,7 @@ public class TextureManager extends AbstractManager implements ITextureManager {
 
     @Override
     protected void reload() {
+        texturePool.clear();
         for (Map.Entry<String, TextureAtlases> textureAtlasesEntry : this.textureAtlases.entrySet()) {
             Map<String, TextureResource> textures = new HashMap<>();
             String namespace = textureAtlasesEntry.getKey();
@@ -233,17 +244,17 @@ public class TextureManager extends AbstractManager implements ITextureManager {
                         TextureAtlases.TextureAtlasPalettedPermutationsSource source = (TextureAtlases.TextureAtlasPalettedPermutationsSource) textureAtlasSource;
                         String paletteKey = source.getPaletteKey();
                         try {
-                            BufferedImage paletteImage = getTexture(paletteKey).getTexture();
+                            BufferedImage paletteImage = getTexture(paletteKey).getSharedTexture();
                             Map<String, Int2IntMap> permutations = new HashMap<>(source.getPermutations().size());
                             for (Map.Entry<String, String> entry : source.getPermutations().entrySet()) {
                                 try {
-                                    permutations.put(entry.getKey(), createTexturePaletteReplacementMap(paletteImage, getTexture(entry.getValue()).getTexture()));
+                                    permutations.put(entry.getKey(), createTexturePaletteReplacementMap(paletteImage, getTexture(entry.getValue()).getSharedTexture()));
                                 } catch (Exception e) {
                                     new ResourceLoadingException("Unable to load paletted permutation of " + entry.getKey() + " in " + namespace + ":" + paletteKey, e).printStackTrace();
                                 }
                             }
                             for (String texture : source.getTextures()) {
-                                BufferedImage textureImage = getTexture(texture).getTexture();
+                                BufferedImage textureImage = getTexture(texture).getSharedTexture();
                                 for (Map.Entry<String, Int2IntMap> entry : permutations.entrySet()) {
                                     BufferedImage newImage = new BufferedImage(textureImage.getWidth(), textureImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
                                     Graphics2D g = newImage.createGraphics();
@@ -289,6 +300,10 @@ public class TextureManager extends AbstractManager implements ITextureManager {
         return getMissingTexture(manager);
     }
 
+    public TexturePool getTexturePool() {
+        return texturePool;
+    }
+
     @Override
     public TextureResource getTexture(String resourceLocation, boolean returnMissingTexture) {
         if (!resourceLocation.contains(":")) {
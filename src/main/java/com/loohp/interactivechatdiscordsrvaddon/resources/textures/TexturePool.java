@@ -0,0 +1,110 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.resources.textures;
+
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.WeightedLRUCache;
+
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TexturePool {
+
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024L * 1024L;
+
+    private final WeightedLRUCache<TextureResource, BufferedImage> cache;
+    private final Map<String, LongAdder> textureHits;
+
+    public TexturePool(long maxSize) {
+        this.cache = new WeightedLRUCache<>(Math.max(0, maxSize), image -> (long) image.getWidth() * (long) image.getHeight() * 4L);
+        this.textureHits = new ConcurrentHashMap<>();
+    }
+
+    public TexturePool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    protected BufferedImage get(TextureResource resource) {
+        BufferedImage image = cache.get(resource);
+        if (image != null && resource.getResourceKey() != null) {
+            textureHits.computeIfAbsent(resource.getResourceKey(), k -> new LongAdder()).increment();
+        }
+        return image;
+    }
+
+    protected void put(TextureResource resource, BufferedImage image) {
+        cache.put(resource, image);
+    }
+
+    public void clear() {
+        cache.clear();
+        textureHits.clear();
+    }
+
+    public int getCount() {
+        return cache.size();
+    }
+
+    public long getSize() {
+        return cache.getWeight();
+    }
+
+    public long getMaxSize() {
+        return cache.getMaxWeight();
+    }
+
+    public void setMaxSize(long maxSize) {
+        cache.setMaxWeight(Math.max(0, maxSize));
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    public long getHits(String resourceKey) {
+        LongAdder hits = textureHits.get(resourceKey);
+        return hits == null ? 0 : hits.sum();
+    }
+
+    public Map<String, Long> getTextureHits() {
+        Map<String, Long> hits = new HashMap<>(textureHits.size());
+        for (Map.Entry<String, LongAdder> entry : textureHits.entrySet()) {
+            hits.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(hits);
+    }
+
+}
@@ -21,6 +21,7 @@
 package com.loohp.interactivechatdiscordsrvaddon.resources.textures;
 
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.Hasher128;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ResourcePackFile;
 
 import javax.imageio.ImageIO;
@@ -43,6 +44,7 @@ public class TextureResource {
     private boolean isTexture;
     private Reference<BufferedImage> texture;
     private UnaryOperator<BufferedImage> imageTransformFunction;
+    private volatile Hasher128.HashCode identityHash;
 
     private Unsafe unsafe;
 
@@ -61,7 +63,7 @@ public class TextureResource {
         this.resourceKey = resourceKey;
         this.file = file;
         this.isTexture = true;
-        this.texture = new WeakReference<>(image);
+        this.texture = new WeakReference<>(imageTransformFunction == null ? image : imageTransformFunction.apply(image));
         this.imageTransformFunction = imageTransformFunction;
         this.unsafe = null;
     }
@@ -82,8 +84,15 @@ public class TextureResource {
         if (!isTexture) {
             throw new IllegalStateException(resourceKey + " is not a texture!");
         }
+        TexturePool pool = manager instanceof TextureManager ? ((TextureManager) manager).getTexturePool() : null;
         BufferedImage image;
+        if (pool != null && (image = pool.get(this)) != null) {
+            return image;
+        }
         if (texture != null && (image = texture.get()) != null) {
+            if (pool != null) {
+                pool.put(this, image);
+            }
             return image;
         }
         try (InputStream inputStream = file.getInputStream()) {
@@ -91,7 +100,13 @@ public class TextureResource {
             if (image == null) {
                 throw new IOException("Image is null!");
             }
+            if (imageTransformFunction != null) {
+                image = imageTransformFunction.apply(image);
+            }
             this.texture = new WeakReference<>(image);
+            if (pool != null) {
+                pool.put(this, image);
+            }
             return image;
         } catch (IOException e) {
             throw new UncheckedIOException("Unable to load image " + resourceKey + " from " + file.getAbsolutePath(), e);
@@ -108,9 +123,6 @@ public class TextureResource {
 
     public BufferedImage getTexture(int w, int h, boolean clearAnimation) {
         BufferedImage image = loadImage();
-        if (imageTransformFunction != null) {
-            image = imageTransformFunction.apply(image);
-        }
         if (clearAnimation && hasTextureMeta()) {
             TextureMeta meta = getTextureMeta();
             if (meta.hasAnimation()) {
@@ -136,9 +148,6 @@ public class TextureResource {
 
     public BufferedImage getTexture(boolean clearAnimation) {
         BufferedImage image = loadImage();
-        if (imageTransformFunction != null) {
-            image = imageTransformFunction.apply(image);
-        }
         if (clearAnimation && hasTextureMeta()) {
             TextureMeta meta = getTextureMeta();
             if (meta.hasAnimation()) {
@@ -153,6 +162,55 @@ public class TextureResource {
         return ImageUtils.copyImage(image);
     }
 
+    /**
+     * Returns the decoded texture without copying it.
+     * The returned image is shared with every other caller and must not be modified, only read or drawn.
+     */
+    public BufferedImage getSharedTexture() {
+        return getSharedTexture(false);
+    }
+
+    public BufferedImage getSharedTexture(boolean clearAnimation) {
+        BufferedImage image = loadImage();
+        if (clearAnimation && hasTextureMeta()) {
+            TextureMeta meta = getTextureMeta();
+            if (meta.hasAnimation()) {
+                TextureAnimation animation = meta.getAnimation();
+                boolean hasSize = animation.hasWidth() && animation.hasHeight();
+                int width = Math.min(image.getWidth(), hasSize ? animation.getWidth() : image.getWidth());
+                int height = Math.min(image.getHeight(), hasSize ? animation.getHeight() : image.getWidth());
+                if (width != image.getWidth() || height != image.getHeight()) {
+                    image = image.getSubimage(0, 0, width, height);
+                }
+            }
+        }
+        return image;
+    }
+
+    public Hasher128.HashCode getIdentityHash() {
+        Hasher128.HashCode hash = identityHash;
+        if (hash == null) {
+            identityHash = hash = computeIdentityHash();
+        }
+        return hash;
+    }
+
+    private Hasher128.HashCode computeIdentityHash() {
+        Hasher128 hasher = new Hasher128();
+        if (isTexture) {
+            BufferedImage image = loadImage();
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int[] colors = image.getRGB(0, 0, width, height, null, 0, width);
+            hasher.putInt(0).putInt(width).putInt(height).putInts(colors, 0, colors.length);
+        } else if (file != null) {
+            hasher.putInt(1).putString(file.getAbsolutePath());
+        } else {
+            hasher.putInt(2).putString(toString());
+        }
+        return hasher.hash();
+    }
+
     public boolean hasFile() {
         return file != null;
     }
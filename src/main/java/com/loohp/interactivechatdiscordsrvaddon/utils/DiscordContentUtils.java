@@ -86,8 +86,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
@@ -103,157 +109,84 @@ public class DiscordContentUtils {
     public static final String RIGHT_EMOJI = "\u27A1\uFE0F";
 
     public static ValuePairs<List<DiscordMessageContent>, InteractionHandler> createContents(List<DiscordDisplayData> dataList, OfflineICPlayer player) {
+        List<FutureTask<ContentEntry>> tasks = new ArrayList<>(dataList.size());
+        int i = -1;
+        for (DiscordDisplayData data : dataList) {
+            int index = ++i;
+            tasks.add(fork(() -> createContent(data, index, player)));
+        }
         List<DiscordMessageContent> contents = new ArrayList<>();
         List<ActionRow> interactionsToRegister = new ArrayList<>();
         List<String> interactions = new ArrayList<>();
         BiConsumer<GenericComponentInteractionCreateEvent, List<DiscordMessageContent>> interactionConsumer = (event, discordMessageContents) -> {};
-        int i = -1;
-        for (DiscordDisplayData data : dataList) {
-            i++;
-            if (data instanceof ImageDisplayData) {
-                ImageDisplayData iData = (ImageDisplayData) data;
-                ImageDisplayType type = iData.getType();
-                String title = iData.getTitle();
-                if (iData.getItemStack().isPresent()) {
-                    Debug.debug("createContents creating item discord content");
-                    ItemStack item = iData.getItemStack().get();
-                    Color color = DiscordItemStackUtils.getDiscordColor(item);
-                    if (color == null || color.equals(Color.WHITE)) {
-                        color = OFFSET_WHITE;
+        for (FutureTask<ContentEntry> task : tasks) {
+            ContentEntry entry;
+            try {
+                entry = join(task);
+            } catch (Exception e) {
+                e.printStackTrace();
+                continue;
+            }
+            contents.addAll(entry.contents);
+            interactionsToRegister.addAll(entry.interactionsToRegister);
+            interactions.addAll(entry.interactions);
+            interactionConsumer = interactionConsumer.andThen(entry.interactionConsumer);
+            Debug.debug("createContents entry " + entry.index + " rendered in " + TimeUnit.NANOSECONDS.toMillis(entry.renderNanos.get()) + "ms, encoded in " + TimeUnit.NANOSECONDS.toMillis(entry.encodeNanos.get()) + "ms");
+        }
+        return new ValuePairs<>(contents, new InteractionHandler(interactionsToRegister, interactions, InteractiveChat.itemDisplayTimeout, interactionConsumer));
+    }
+
+    private static ContentEntry createContent(DiscordDisplayData data, int i, OfflineICPlayer player) {
+        ContentEntry entry = new ContentEntry(i);
+        List<DiscordMessageContent> contents = entry.contents;
+        List<ActionRow> interactionsToRegister = entry.interactionsToRegister;
+        List<String> interactions = entry.interactions;
+        if (data instanceof ImageDisplayData) {
+            ImageDisplayData iData = (ImageDisplayData) data;
+            ImageDisplayType type = iData.getType();
+            String title = iData.getTitle();
+            if (iData.getItemStack().isPresent()) {
+                Debug.debug("createContents creating item discord content");
+                ItemStack item = iData.getItemStack().get();
+                Color color = DiscordItemStackUtils.getDiscordColor(item);
+                if (color == null || color.equals(Color.WHITE)) {
+                    color = OFFSET_WHITE;
+                }
+                try {
+                    FutureTask<byte[]> imageTask = fork(() -> entry.encode(entry.render(() -> ImageGeneration.getItemStackImage(item, data.getPlayer(), InteractiveChatDiscordSrvAddon.plugin.itemAltAir, 48))));
+                    FutureTask<BufferedImage> containerTask = null;
+                    if (type.equals(ImageDisplayType.ITEM_CONTAINER) && InteractiveChatDiscordSrvAddon.plugin.showContainers) {
+                        TitledInventoryWrapper inv = iData.getInventory().get();
+                        containerTask = fork(() -> entry.render(() -> ImageGeneration.getInventoryImage(inv.getInventory(), inv.getTitle(), data.getPlayer())));
                     }
-                    try {
-                        BufferedImage image = ImageGeneration.getItemStackImage(item, data.getPlayer(), InteractiveChatDiscordSrvAddon.plugin.itemAltAir, 48);
-                        byte[] imageData = ImageUtils.toArray(image);
-
-                        DiscordMessageContent content = new DiscordMessageContent(title, null, color);
-                        content.setTitle(DiscordItemStackUtils.getItemNameForDiscord(item, player, InteractiveChatDiscordSrvAddon.plugin.language));
-                        content.setThumbnail("attachment://Item_" + i + ".png");
-
-                        content.addAttachment("Item_" + i + ".png", imageData);
-                        contents.add(content);
-
-                        DiscordToolTip discordToolTip = DiscordItemStackUtils.getToolTip(item, player);
-                        List<ToolTipComponent<?>> toolTipComponents = discordToolTip.getComponents();
-
-                        boolean forceShow = false;
-                        if (type.equals(ImageDisplayType.ITEM_CONTAINER) && InteractiveChatDiscordSrvAddon.plugin.showContainers) {
-                            TitledInventoryWrapper inv = iData.getInventory().get();
-                            BufferedImage container = ImageGeneration.getInventoryImage(inv.getInventory(), inv.getTitle(), data.getPlayer());
-                            toolTipComponents.add(ToolTipComponent.image(container));
-                            forceShow = true;
-
-                            if (InteractiveChatDiscordSrvAddon.plugin.allowSlotSelection) {
-                                UUID interactionUuid = UUID.randomUUID();
-                                List<SelectOption> options = new ArrayList<>();
-                                for (int u = 0; u < inv.getInventory().getSize(); u++) {
-                                    ItemStack itemStack = inv.getInventory().getItem(u);
-                                    if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
-                                        continue;
-                                    }
-                                    Component name = ItemStackUtils.getDisplayName(itemStack);
-                                    String label = (u + 1) + " - " + PlainTextComponentSerializer.plainText().serialize(ComponentStringUtils.resolve(name, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)));
-                                    if (label.length() > 100) {
-                                        ItemStack stripNameItem = itemStack.clone();
-                                        if (stripNameItem.getItemMeta() != null) {
-                                            ItemMeta meta = stripNameItem.getItemMeta();
-                                            meta.setDisplayName(null);
-                                            stripNameItem.setItemMeta(meta);
-                                        }
-                                        name = ItemStackUtils.getDisplayName(stripNameItem);
-                                        label = (u + 1) + " - " + PlainTextComponentSerializer.plainText().serialize(ComponentStringUtils.resolve(name, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)));
-                                    }
-                                    options.add(SelectOption.of(label, String.valueOf(u)));
-                                }
-                                int j = 0;
-                                for (int u = 0; u < options.size(); u += 25) {
-                                    String id = DiscordInteractionEvents.INTERACTION_ID_PREFIX + "inventory_item_" + interactionUuid + "_" + ++j;
-                                    interactionsToRegister.add(ActionRow.of(SelectionMenu.create(id).addOptions(options.subList(u, Math.min(u + 25, options.size()))).build()));
-                                    interactions.add(id);
-                                }
-                                interactionConsumer = interactionConsumer.andThen(getInventoryHandler(interactionUuid, inv.getInventory(), data.getPlayer()));
-                            }
-                        } else if (iData.isFilledMap() && InteractiveChatDiscordSrvAddon.plugin.showMaps) {
-                            forceShow = true;
+                    List<Supplier<BufferedImage>> bookImages = null;
+                    FutureTask<byte[]> bookPageTask = null;
+                    if (iData.isBook() && InteractiveChatDiscordSrvAddon.plugin.showBooks) {
+                        List<Component> pages = BookUtils.getPages((BookMeta) item.getItemMeta());
+                        if (pages.isEmpty()) {
+                            pages = Collections.singletonList(Component.empty());
                         }
+                        List<Supplier<BufferedImage>> images = bookImages = ImageGeneration.getBookInterfaceSuppliers(pages);
+                        bookPageTask = fork(() -> entry.encode(entry.render(() -> images.get(0).get())));
+                    }
+                    byte[] imageData = join(imageTask);
 
-                        if (forceShow || !discordToolTip.isBaseItem() || InteractiveChatDiscordSrvAddon.plugin.itemUseTooltipImageOnBaseItem) {
-                            BufferedImage tooltip = ImageGeneration.getToolTipImage(toolTipComponents);
-
-                            if (iData.isFilledMap() && InteractiveChatDiscordSrvAddon.plugin.showMaps) {
-                                MapView mapView = FilledMapUtils.getMapView(item);
-                                boolean isContextual = mapView == null || FilledMapUtils.isContextual(mapView);
-                                ICPlayer icPlayer = iData.getPlayer().getPlayer();
-                                boolean isPlayerLocal = icPlayer != null && icPlayer.isLocal();
-                                if (!isContextual || isPlayerLocal) {
-                                    BufferedImage map = ImageGeneration.getMapImage(item, isPlayerLocal ? icPlayer.getLocalPlayer() : null).get();
-                                    tooltip = ImageUtils.resizeImage(tooltip, 5);
-                                    tooltip = ImageUtils.appendImageBottom(tooltip, map, 10, 0);
-                                }
-                            }
+                    DiscordMessageContent content = new DiscordMessageContent(title, null, color);
+                    content.setTitle(DiscordItemStackUtils.getItemNameForDiscord(item, player, InteractiveChatDiscordSrvAddon.plugin.language));
+                    content.setThumbnail("attachment://Item_" + i + ".png");
 
-                            byte[] tooltipData = ImageUtils.toArray(tooltip);
-                            content.addAttachment("ToolTip_" + i + ".png", tooltipData);
-                            content.addImageUrl("attachment://ToolTip_" + i + ".png");
-                        }
+                    content.addAttachment("Item_" + i + ".png", imageData);
+                    contents.add(content);
 
-                        if (iData.isBook() && InteractiveChatDiscordSrvAddon.plugin.showBooks) {
-                            List<Component> pages = BookUtils.getPages((BookMeta) item.getItemMeta());
-                            if (pages.isEmpty()) {
-                                pages = Collections.singletonList(Component.empty());
-                            }
-                            List<Supplier<BufferedImage>> images = ImageGeneration.getBookInterfaceSuppliers(pages);
-                            byte[][] cachedImages = new byte[images.size()][];
-                            cachedImages[0] = ImageUtils.toArray(images.get(0).get());
-                            if (!images.isEmpty()) {
-                                UUID interactionUuid = UUID.randomUUID();
-                                interactionsToRegister.add(ActionRow.of(Button.secondary(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "open_book_" + interactionUuid, BOOK_EMOJI)));
-                                interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "open_book_" + interactionUuid);
-                                interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "left_book_" + interactionUuid);
-                                interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "right_book_" + interactionUuid);
-                                interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "selection_book_" + interactionUuid);
-                                interactionConsumer = interactionConsumer.andThen(getBookHandler(interactionUuid, color, images, cachedImages));
-                            }
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                } else if (iData.getInventory().isPresent()) {
-                    Debug.debug("createContents creating inventory discord content");
-                    TitledInventoryWrapper inv = iData.getInventory().get();
-                    try {
-                        BufferedImage image;
-                        if (iData.isPlayerInventory()) {
-                            if (InteractiveChatDiscordSrvAddon.plugin.usePlayerInvView) {
-                                image = ImageGeneration.getPlayerInventoryImage(inv.getInventory(), iData.getPlayer());
-                            } else {
-                                image = ImageGeneration.getInventoryImage(inv.getInventory(), inv.getTitle(), data.getPlayer());
-                            }
-                        } else {
-                            image = ImageGeneration.getInventoryImage(inv.getInventory(), inv.getTitle(), data.getPlayer());
-                        }
-                        Color color;
-                        switch (type) {
-                            case ENDERCHEST:
-                                color = InteractiveChatDiscordSrvAddon.plugin.enderColor;
-                                break;
-                            case INVENTORY:
-                                color = InteractiveChatDiscordSrvAddon.plugin.invColor;
-                                break;
-                            default:
-                                color = Color.black;
-                                break;
-                        }
-                        byte[] imageData = ImageUtils.toArray(image);
-                        DiscordMessageContent content = new DiscordMessageContent(title, null, null, "attachment://Inventory_" + i + ".png", color);
-                        content.addAttachment("Inventory_" + i + ".png", imageData);
-                        if (type.equals(ImageDisplayType.INVENTORY) && InteractiveChatDiscordSrvAddon.plugin.invShowLevel) {
-                            int level = iData.getPlayer().getExperienceLevel();
-                            byte[] bottleData = ImageUtils.toArray(InteractiveChatDiscordSrvAddon.plugin.modelRenderer.render(32, 32, InteractiveChatDiscordSrvAddon.plugin.getResourceManager(), InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction("minecraft:item/experience_bottle", null, XMaterial.EXPERIENCE_BOTTLE.parseItem(), InteractiveChat.version.isOld(), null, null, null, null, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)).orElse(null), InteractiveChat.version.isOld(), "minecraft:item/experience_bottle", ModelDisplayPosition.GUI, false, null, null).getImage());
-                            content.addAttachment("Level_" + i + ".png", bottleData);
-                            content.setFooter(ComponentStringUtils.convertFormattedString(LanguageUtils.getTranslation(TranslationKeyUtils.getLevelTranslation(level), InteractiveChatDiscordSrvAddon.plugin.language), level));
-                            content.setFooterImageUrl("attachment://Level_" + i + ".png");
-                        }
-                        contents.add(content);
+                    DiscordToolTip discordToolTip = DiscordItemStackUtils.getToolTip(item, player);
+                    List<ToolTipComponent<?>> toolTipComponents = discordToolTip.getComponents();
+
+                    boolean forceShow = false;
+                    if (type.equals(ImageDisplayType.ITEM_CONTAINER) && InteractiveChatDiscordSrvAddon.plugin.showContainers) {
+                        TitledInventoryWrapper inv = iData.getInventory().get();
+                        BufferedImage container = join(containerTask);
+                        toolTipComponents.add(ToolTipComponent.image(container));
+                        forceShow = true;
 
                         if (InteractiveChatDiscordSrvAddon.plugin.allowSlotSelection) {
                             UUID interactionUuid = UUID.randomUUID();
@@ -283,74 +216,205 @@ public class DiscordContentUtils {
                                 interactionsToRegister.add(ActionRow.of(SelectionMenu.create(id).addOptions(options.subList(u, Math.min(u + 25, options.size()))).build()));
                                 interactions.add(id);
                             }
-                            interactionConsumer = interactionConsumer.andThen(getInventoryHandler(interactionUuid, inv.getInventory(), data.getPlayer()));
+                            entry.addInteractionConsumer(getInventoryHandler(interactionUuid, inv.getInventory(), data.getPlayer()));
                         }
-                    } catch (Exception e) {
-                        e.printStackTrace();
+                    } else if (iData.isFilledMap() && InteractiveChatDiscordSrvAddon.plugin.showMaps) {
+                        forceShow = true;
                     }
-                }
-            } else if (data instanceof HoverClickDisplayData) {
-                Debug.debug("createContents creating hover event discord content");
-                try {
-                    HoverClickDisplayData hData = (HoverClickDisplayData) data;
-                    String title = hData.getDisplayText();
-                    Color color = hData.getColor();
-                    DiscordMessageContent content = new DiscordMessageContent(title, null, color);
-                    String body = "";
-                    String preview = null;
-                    if (hData.hasHover()) {
-                        if (InteractiveChatDiscordSrvAddon.plugin.hoverUseTooltipImage) {
-                            Component print = hData.getHoverText();
-                            BufferedImage tooltip = ImageGeneration.getToolTipImage(print, true);
-                            byte[] tooltipData = ImageUtils.toArray(tooltip);
-                            content.addAttachment("ToolTip_" + i + ".png", tooltipData);
-                            content.addImageUrl("attachment://ToolTip_" + i + ".png");
-                            content.addDescription(null);
-                        } else {
-                            body += ComponentStringUtils.stripColorAndConvertMagic(InteractiveChatComponentSerializer.bungeecordApiLegacy().serialize(hData.getHoverText()));
+
+                    if (forceShow || !discordToolTip.isBaseItem() || InteractiveChatDiscordSrvAddon.plugin.itemUseTooltipImageOnBaseItem) {
+                        BufferedImage tooltip = entry.render(() -> ImageGeneration.getToolTipImage(toolTipComponents));
+
+                        if (iData.isFilledMap() && InteractiveChatDiscordSrvAddon.plugin.showMaps) {
+                            MapView mapView = FilledMapUtils.getMapView(item);
+                            boolean isContextual = mapView == null || FilledMapUtils.isContextual(mapView);
+                            ICPlayer icPlayer = iData.getPlayer().getPlayer();
+                            boolean isPlayerLocal = icPlayer != null && icPlayer.isLocal();
+                            if (!isContextual || isPlayerLocal) {
+                                BufferedImage map = entry.render(() -> ImageGeneration.getMapImage(item, isPlayerLocal ? icPlayer.getLocalPlayer() : null).get());
+                                tooltip = ImageUtils.resizeImage(tooltip, 5);
+                                tooltip = ImageUtils.appendImageBottom(tooltip, map, 10, 0);
+                            }
                         }
+
+                        byte[] tooltipData = entry.encode(tooltip);
+                        content.addAttachment("ToolTip_" + i + ".png", tooltipData);
+                        content.addImageUrl("attachment://ToolTip_" + i + ".png");
                     }
-                    if (hData.hasClick()) {
-                        switch (hData.getClickAction()) {
-                            case COPY_TO_CLIPBOARD:
-                                if (body.length() > 0) {
-                                    body += "\n\n";
-                                }
-                                body += LanguageUtils.getTranslation(TranslationKeyUtils.getCopyToClipboard(), InteractiveChatDiscordSrvAddon.plugin.language) + ": __" + hData.getClickValue() + "__";
-                                break;
-                            case OPEN_URL:
-                                if (body.length() > 0) {
-                                    body += "\n\n";
-                                }
-                                String url = hData.getClickValue();
-                                body += LanguageUtils.getTranslation(TranslationKeyUtils.getOpenUrl(), InteractiveChatDiscordSrvAddon.plugin.language) + ": __" + url + "__";
-                                if (URLRequestUtils.IMAGE_URL_PATTERN.matcher(url).matches() && URLRequestUtils.isAllowed(url)) {
-                                    preview = url;
-                                }
-                                break;
-                            default:
-                                break;
+
+                    if (bookPageTask != null) {
+                        List<Supplier<BufferedImage>> images = bookImages;
+                        byte[][] cachedImages = new byte[images.size()][];
+                        cachedImages[0] = join(bookPageTask);
+                        if (!images.isEmpty()) {
+                            UUID interactionUuid = UUID.randomUUID();
+                            interactionsToRegister.add(ActionRow.of(Button.secondary(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "open_book_" + interactionUuid, BOOK_EMOJI)));
+                            interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "open_book_" + interactionUuid);
+                            interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "left_book_" + interactionUuid);
+                            interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "right_book_" + interactionUuid);
+                            interactions.add(DiscordInteractionEvents.INTERACTION_ID_PREFIX + "selection_book_" + interactionUuid);
+                            entry.addInteractionConsumer(getBookHandler(interactionUuid, color, images, cachedImages));
                         }
                     }
-                    if (!body.isEmpty()) {
-                        content.addDescription(body);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            } else if (iData.getInventory().isPresent()) {
+                Debug.debug("createContents creating inventory discord content");
+                TitledInventoryWrapper inv = iData.getInventory().get();
+                try {
+                    FutureTask<byte[]> bottleTask = null;
+                    if (type.equals(ImageDisplayType.INVENTORY) && InteractiveChatDiscordSrvAddon.plugin.invShowLevel) {
+                        bottleTask = fork(() -> entry.encode(entry.render(() -> InteractiveChatDiscordSrvAddon.plugin.modelRenderer.render(32, 32, InteractiveChatDiscordSrvAddon.plugin.getResourceManager(), InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction("minecraft:item/experience_bottle", null, XMaterial.EXPERIENCE_BOTTLE.parseItem(), InteractiveChat.version.isOld(), null, null, null, null, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)).orElse(null), InteractiveChat.version.isOld(), "minecraft:item/experience_bottle", ModelDisplayPosition.GUI, false, null, null).getImage())));
                     }
-                    if (InteractiveChatDiscordSrvAddon.plugin.hoverImage) {
-                        BufferedImage image = InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getTextureManager().getTexture(ResourceRegistry.IC_MISC_TEXTURE_LOCATION + "hover_cursor").getTexture();
-                        byte[] imageData = ImageUtils.toArray(image);
-                        content.setAuthorIconUrl("attachment://Hover_" + i + ".png");
-                        content.addAttachment("Hover_" + i + ".png", imageData);
+                    BufferedImage image = entry.render(() -> {
+                        if (iData.isPlayerInventory() && InteractiveChatDiscordSrvAddon.plugin.usePlayerInvView) {
+                            return ImageGeneration.getPlayerInventoryImage(inv.getInventory(), iData.getPlayer());
+                        }
+                        return ImageGeneration.getInventoryImage(inv.getInventory(), inv.getTitle(), data.getPlayer());
+                    });
+                    Color color;
+                    switch (type) {
+                        case ENDERCHEST:
+                            color = InteractiveChatDiscordSrvAddon.plugin.enderColor;
+                            break;
+                        case INVENTORY:
+                            color = InteractiveChatDiscordSrvAddon.plugin.invColor;
+                            break;
+                        default:
+                            color = Color.black;
+                            break;
                     }
-                    if (preview != null) {
-                        content.addImageUrl(preview);
+                    byte[] imageData = entry.encode(image);
+                    DiscordMessageContent content = new DiscordMessageContent(title, null, null, "attachment://Inventory_" + i + ".png", color);
+                    content.addAttachment("Inventory_" + i + ".png", imageData);
+                    if (type.equals(ImageDisplayType.INVENTORY) && InteractiveChatDiscordSrvAddon.plugin.invShowLevel) {
+                        int level = iData.getPlayer().getExperienceLevel();
+                        byte[] bottleData = join(bottleTask);
+                        content.addAttachment("Level_" + i + ".png", bottleData);
+                        content.setFooter(ComponentStringUtils.convertFormattedString(LanguageUtils.getTranslation(TranslationKeyUtils.getLevelTranslation(level), InteractiveChatDiscordSrvAddon.plugin.language), level));
+                        content.setFooterImageUrl("attachment://Level_" + i + ".png");
                     }
                     contents.add(content);
+
+                    if (InteractiveChatDiscordSrvAddon.plugin.allowSlotSelection) {
+                        UUID interactionUuid = UUID.randomUUID();
+                        List<SelectOption> options = new ArrayList<>();
+                        for (int u = 0; u < inv.getInventory().getSize(); u++) {
+                            ItemStack itemStack = inv.getInventory().getItem(u);
+                            if (itemStack == null || itemStack.getType().equals(Material.AIR)) {
+                                continue;
+                            }
+                            Component name = ItemStackUtils.getDisplayName(itemStack);
+                            String label = (u + 1) + " - " + PlainTextComponentSerializer.plainText().serialize(ComponentStringUtils.resolve(name, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)));
+                            if (label.length() > 100) {
+                                ItemStack stripNameItem = itemStack.clone();
+                                if (stripNameItem.getItemMeta() != null) {
+                                    ItemMeta meta = stripNameItem.getItemMeta();
+                                    meta.setDisplayName(null);
+                                    stripNameItem.setItemMeta(meta);
+                                }
+                                name = ItemStackUtils.getDisplayName(stripNameItem);
+                                label = (u + 1) + " - " + PlainTextComponentSerializer.plainText().serialize(ComponentStringUtils.resolve(name, InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getLanguageManager().getTranslateFunction().ofLanguage(InteractiveChatDiscordSrvAddon.plugin.language)));
+                            }
+                            options.add(SelectOption.of(label, String.valueOf(u)));
+                        }
+                        int j = 0;
+                        for (int u = 0; u < options.size(); u += 25) {
+                            String id = DiscordInteractionEvents.INTERACTION_ID_PREFIX + "inventory_item_" + interactionUuid + "_" + ++j;
+                            interactionsToRegister.add(ActionRow.of(SelectionMenu.create(id).addOptions(options.subList(u, Math.min(u + 25, options.size()))).build()));
+                            interactions.add(id);
+                        }
+                        entry.addInteractionConsumer(getInventoryHandler(interactionUuid, inv.getInventory(), data.getPlayer()));
+                    }
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
             }
+        } else if (data instanceof HoverClickDisplayData) {
+            Debug.debug("createContents creating hover event discord content");
+            try {
+                HoverClickDisplayData hData = (HoverClickDisplayData) data;
+                String title = hData.getDisplayText();
+                Color color = hData.getColor();
+                DiscordMessageContent content = new DiscordMessageContent(title, null, color);
+                String body = "";
+                String preview = null;
+                if (hData.hasHover()) {
+                    if (InteractiveChatDiscordSrvAddon.plugin.hoverUseTooltipImage) {
+                        Component print = hData.getHoverText();
+                        BufferedImage tooltip = entry.render(() -> ImageGeneration.getToolTipImage(print, true));
+                        byte[] tooltipData = entry.encode(tooltip);
+                        content.addAttachment("ToolTip_" + i + ".png", tooltipData);
+                        content.addImageUrl("attachment://ToolTip_" + i + ".png");
+                        content.addDescription(null);
+                    } else {
+                        body += ComponentStringUtils.stripColorAndConvertMagic(InteractiveChatComponentSerializer.bungeecordApiLegacy().serialize(hData.getHoverText()));
+                    }
+                }
+                if (hData.hasClick()) {
+                    switch (hData.getClickAction()) {
+                        case COPY_TO_CLIPBOARD:
+                            if (body.length() > 0) {
+                                body += "\n\n";
+                            }
+                            body += LanguageUtils.getTranslation(TranslationKeyUtils.getCopyToClipboard(), InteractiveChatDiscordSrvAddon.plugin.language) + ": __" + hData.getClickValue() + "__";
+                            break;
+                        case OPEN_URL:
+                            if (body.length() > 0) {
+                                body += "\n\n";
+                            }
+                            String url = hData.getClickValue();
+                            body += LanguageUtils.getTranslation(TranslationKeyUtils.getOpenUrl(), InteractiveChatDiscordSrvAddon.plugin.language) + ": __" + url + "__";
+                            if (URLRequestUtils.IMAGE_URL_PATTERN.matcher(url).matches() && URLRequestUtils.isAllowed(url)) {
+                                preview = url;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                if (!body.isEmpty()) {
+                    content.addDescription(body);
+                }
+                if (InteractiveChatDiscordSrvAddon.plugin.hoverImage) {
+                    BufferedImage image = InteractiveChatDiscordSrvAddon.plugin.getResourceManager().getTextureManager().getTexture(ResourceRegistry.IC_MISC_TEXTURE_LOCATION + "hover_cursor").getTexture();
+                    byte[] imageData = entry.encode(image);
+                    content.setAuthorIconUrl("attachment://Hover_" + i + ".png");
+                    content.addAttachment("Hover_" + i + ".png", imageData);
+                }
+                if (preview != null) {
+                    content.addImageUrl(preview);
+                }
+                contents.add(content);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return entry;
+    }
+
+    private static <T> FutureTask<T> fork(Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        try {
+            InteractiveChatDiscordSrvAddon.plugin.contentRenderingService.execute(task);
+        } catch (RejectedExecutionException ignore) {
+        }
+        return task;
+    }
+
+    private static <T> T join(FutureTask<T> task) throws Exception {
+        //runs the task in this thread if no worker has picked it up yet, so nested joins can never starve the pool
+        task.run();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new RuntimeException(cause);
         }
-        return new ValuePairs<>(contents, new InteractionHandler(interactionsToRegister, interactions, InteractiveChat.itemDisplayTimeout, interactionConsumer));
     }
 
     private static BiConsumer<GenericComponentInteractionCreateEvent, List<DiscordMessageContent>> getInventoryHandler(UUID interactionUuid, Inventory inventory, OfflineICPlayer player) {
@@ -546,4 +610,48 @@ public class DiscordContentUtils {
         };
     }
 
+    private static class ContentEntry {
+
+        private final int index;
+        private final List<DiscordMessageContent> contents;
+        private final List<ActionRow> interactionsToRegister;
+        private final List<String> interactions;
+        private BiConsumer<GenericComponentInteractionCreateEvent, List<DiscordMessageContent>> interactionConsumer;
+        private final AtomicLong renderNanos;
+        private final AtomicLong encodeNanos;
+
+        private ContentEntry(int index) {
+            this.index = index;
+            this.contents = new ArrayList<>();
+            this.interactionsToRegister = new ArrayList<>();
+            this.interactions = new ArrayList<>();
+            this.interactionConsumer = (event, discordMessageContents) -> {};
+            this.renderNanos = new AtomicLong(0);
+            this.encodeNanos = new AtomicLong(0);
+        }
+
+        private void addInteractionConsumer(BiConsumer<GenericComponentInteractionCreateEvent, List<DiscordMessageContent>> consumer) {
+            interactionConsumer = interactionConsumer.andThen(consumer);
+        }
+
+        private <T> T render(Callable<T> callable) throws Exception {
+            long start = System.nanoTime();
+            try {
+                return callable.call();
+            } finally {
+                renderNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        private byte[] encode(BufferedImage image) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return ImageUtils.toArray(image);
+            } finally {
+                encodeNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+    }
+
 }
@@ -34,6 +34,7 @@ import com.loohp.interactivechat.libs.net.kyori.adventure.text.serializer.legacy
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.CompoundTag;
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.ListTag;
 import com.loohp.interactivechat.libs.net.querz.nbt.tag.StringTag;
+import com.loohp.interactivechat.libs.net.querz.nbt.tag.Tag;
 import com.loohp.interactivechat.libs.org.apache.commons.text.WordUtils;
 import com.loohp.interactivechat.objectholders.ICMaterial;
 import com.loohp.interactivechat.objectholders.OfflineICPlayer;
@@ -41,13 +42,12 @@ import com.loohp.interactivechat.utils.ChatColorUtils;
 import com.loohp.interactivechat.utils.ColorUtils;
 import com.loohp.interactivechat.utils.FilledMapUtils;
 import com.loohp.interactivechat.utils.InteractiveChatComponentSerializer;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
 import com.loohp.interactivechat.utils.ItemStackUtils;
 import com.loohp.interactivechat.utils.MCVersion;
-import com.loohp.interactivechat.utils.NBTParsingUtils;
 import com.loohp.interactivechat.utils.RarityUtils;
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageGeneration;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.ToolTipComponent;
 import com.loohp.interactivechatdiscordsrvaddon.objectholders.ToolTipComponent.ToolTipType;
 import com.loohp.interactivechatdiscordsrvaddon.wrappers.PatternTypeWrapper;
@@ -82,7 +82,6 @@ import org.bukkit.inventory.meta.BookMeta;
 import org.bukkit.inventory.meta.BookMeta.Generation;
 import org.bukkit.inventory.meta.BundleMeta;
 import org.bukkit.inventory.meta.CrossbowMeta;
-import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.EnchantmentStorageMeta;
 import org.bukkit.inventory.meta.FireworkEffectMeta;
 import org.bukkit.inventory.meta.FireworkMeta;
@@ -280,7 +279,8 @@ public class DiscordItemStackUtils {
         if (item == null) {
             item = new ItemStack(Material.AIR);
         }
-        ICMaterial icMaterial = ICMaterial.from(item);
+        ItemStackSnapshot itemStackSnapshot = new ItemStackSnapshot(item);
+        ICMaterial icMaterial = itemStackSnapshot.getICMaterial();
 
         Component itemDisplayNameComponent = ItemStackUtils.getDisplayName(item);
         prints.add(tooltipText(itemDisplayNameComponent));
@@ -760,10 +760,12 @@ public class DiscordItemStackUtils {
         }
 
         if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_12) && hasMeta && !item.getItemMeta().hasItemFlag(ItemFlag.HIDE_DESTROYS)) {
-            if (NBTEditor.contains(item, "CanDestroy") && NBTEditor.getSize(item, "CanDestroy") > 0) {
+            CompoundTag itemTag = itemStackSnapshot.getTag();
+            Tag<?> canDestroyTag = itemTag == null ? null : itemTag.get("CanDestroy");
+            if (canDestroyTag instanceof ListTag && ((ListTag<?>) canDestroyTag).size() > 0) {
                 prints.add(tooltipEmpty());
                 prints.add(tooltipText(translatable(getCanDestroy()).color(GRAY)));
-                ListTag<StringTag> materialList = (ListTag<StringTag>) NBTParsingUtils.fromSNBT(NBTEditor.getNBTCompound(item, "tag", "CanDestroy").toJson());
+                ListTag<StringTag> materialList = (ListTag<StringTag>) canDestroyTag;
                 for (StringTag materialTag : materialList) {
                     String key = materialTag.getValue();
                     if (key.contains(":")) {
@@ -780,10 +782,12 @@ public class DiscordItemStackUtils {
         }
 
         if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_12) && hasMeta && !item.getItemMeta().hasItemFlag(ItemFlag.HIDE_PLACED_ON)) {
-            if (NBTEditor.contains(item, "CanPlaceOn") && NBTEditor.getSize(item, "CanPlaceOn") > 0) {
+            CompoundTag itemTag = itemStackSnapshot.getTag();
+            Tag<?> canPlaceOnTag = itemTag == null ? null : itemTag.get("CanPlaceOn");
+            if (canPlaceOnTag instanceof ListTag && ((ListTag<?>) canPlaceOnTag).size() > 0) {
                 prints.add(tooltipEmpty());
                 prints.add(tooltipText(translatable(getCanPlace()).color(GRAY)));
-                ListTag<StringTag> materialList = (ListTag<StringTag>) NBTParsingUtils.fromSNBT(NBTEditor.getNBTCompound(item, "tag", "CanPlaceOn").toJson());
+                ListTag<StringTag> materialList = (ListTag<StringTag>) canPlaceOnTag;
                 for (StringTag materialTag : materialList) {
                     String key = materialTag.getValue();
                     if (key.contains(":")) {
@@ -799,15 +803,15 @@ public class DiscordItemStackUtils {
             }
         }
 
-        if (InteractiveChatDiscordSrvAddon.plugin.showDurability && item.getType().getMaxDurability() > 0) {
-            int durability = item.getType().getMaxDurability() - (InteractiveChat.version.isLegacy() ? item.getDurability() : ((Damageable) item.getItemMeta()).getDamage());
-            int maxDur = item.getType().getMaxDurability();
+        if (InteractiveChatDiscordSrvAddon.plugin.showDurability && itemStackSnapshot.getMaxDurability() > 0) {
+            int durability = itemStackSnapshot.getMaxDurability() - itemStackSnapshot.getDamage();
+            int maxDur = itemStackSnapshot.getMaxDurability();
             if (durability < maxDur) {
                 prints.add(tooltipText(translatable(getDurability()).args(text(durability), text(maxDur)).color(WHITE)));
             }
         }
-        if (InteractiveChatDiscordSrvAddon.plugin.showAdvanceDetails) {
-            CompoundTag nbt = (CompoundTag) NBTParsingUtils.fromSNBT(ItemNBTUtils.getNMSItemStackJson(item));
+        if (InteractiveChatDiscordSrvAddon.plugin.showAdvanceDetails && itemStackSnapshot.isValid()) {
+            CompoundTag nbt = itemStackSnapshot.getRoot();
             prints.add(tooltipText(text(nbt.getString("id")).color(DARK_GRAY)));
             CompoundTag tag = nbt.getCompoundTag("tag");
             if (tag != null) {
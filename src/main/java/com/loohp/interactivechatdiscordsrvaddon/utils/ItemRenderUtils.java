@@ -38,14 +38,13 @@ import com.loohp.interactivechat.objectholders.OfflineICPlayer;
 import com.loohp.interactivechat.objectholders.ValuePairs;
 import com.loohp.interactivechat.utils.CompassUtils;
 import com.loohp.interactivechat.utils.FilledMapUtils;
-import com.loohp.interactivechat.utils.ItemNBTUtils;
 import com.loohp.interactivechat.utils.MCVersion;
-import com.loohp.interactivechat.utils.NBTParsingUtils;
 import com.loohp.interactivechat.utils.SkinUtils;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.BannerGraphics;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.BannerGraphics.BannerAssetResult;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageGeneration;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.ItemStackSnapshot;
 import com.loohp.interactivechatdiscordsrvaddon.registry.ResourceRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.CustomItemTextureRegistry;
 import com.loohp.interactivechatdiscordsrvaddon.resources.ModelRenderer.RawEnchantmentGlintData;
@@ -73,7 +72,6 @@ import org.bukkit.inventory.meta.BlockStateMeta;
 import org.bukkit.inventory.meta.BundleMeta;
 import org.bukkit.inventory.meta.CompassMeta;
 import org.bukkit.inventory.meta.CrossbowMeta;
-import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
 import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.inventory.meta.trim.ArmorTrim;
@@ -129,6 +127,11 @@ public class ItemRenderUtils {
     private static final Random RANDOM = new Random();
 
     public static ItemStackProcessResult processItemForRendering(ResourceManager manager, OfflineICPlayer player, ItemStack item, EquipmentSlot slot, boolean is1_8, String language) throws IOException {
+        return processItemForRendering(manager, player, new ItemStackSnapshot(item), slot, is1_8, language);
+    }
+
+    public static ItemStackProcessResult processItemForRendering(ResourceManager manager, OfflineICPlayer player, ItemStackSnapshot itemStackSnapshot, EquipmentSlot slot, boolean is1_8, String language) throws IOException {
+        ItemStack item = itemStackSnapshot.getItemStack();
         World world = null;
         LivingEntity livingEntity = null;
         if (player.isOnline() && player.getPlayer().isLocal()) {
@@ -137,7 +140,7 @@ public class ItemRenderUtils {
         }
 
         boolean requiresEnchantmentGlint = false;
-        ICMaterial icMaterial = ICMaterial.from(item);
+        ICMaterial icMaterial = itemStackSnapshot.getICMaterial();
         String directLocation = null;
         if (icMaterial.isMaterial(XMaterial.DEBUG_STICK)) {
             requiresEnchantmentGlint = true;
@@ -147,11 +150,11 @@ public class ItemRenderUtils {
             requiresEnchantmentGlint = true;
         } else if (icMaterial.isMaterial(XMaterial.ENCHANTED_BOOK)) {
             requiresEnchantmentGlint = true;
-        } else if (!item.getEnchantments().isEmpty()) {
+        } else if (!itemStackSnapshot.getEnchantments().isEmpty()) {
             requiresEnchantmentGlint = true;
         }
 
-        List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = manager.getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(null, item, () -> ImageGeneration.getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), manager.getLanguageManager().getTranslateFunction().ofLanguage(language));
+        List<ValuePairs<TextureResource, OpenGLBlending>> enchantmentGlintResource = manager.getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getEnchantmentGlintOverrideTextures(null, itemStackSnapshot, () -> ImageGeneration.getDefaultEnchantmentTint(EnchantmentGlintType.ITEM), manager.getLanguageManager().getTranslateFunction().ofLanguage(language));
         BiFunction<BufferedImage, EnchantmentGlintType, BufferedImage> enchantmentGlintFunction = (image, type) -> ImageGeneration.getEnchantedImage(enchantmentGlintResource, image);
         BiFunction<BufferedImage, EnchantmentGlintType, RawEnchantmentGlintData> rawEnchantmentGlintFunction = (image, type) -> new RawEnchantmentGlintData(enchantmentGlintResource.stream().map(each -> ImageGeneration.getRawEnchantedImage(each.getFirst(), image)).collect(Collectors.toList()), enchantmentGlintResource.stream().map(each -> each.getSecond()).collect(Collectors.toList()));
 
@@ -166,9 +169,9 @@ public class ItemRenderUtils {
             int customModelData = NBTEditor.getInt(item, "CustomModelData");
             predicates.put(ModelOverrideType.CUSTOM_MODEL_DATA, (float) customModelData);
         }
-        if (item.getType().getMaxDurability() > 0) {
-            int maxDur = item.getType().getMaxDurability();
-            int damage = InteractiveChat.version.isLegacy() ? item.getDurability() : ((Damageable) item.getItemMeta()).getDamage();
+        if (itemStackSnapshot.getMaxDurability() > 0) {
+            int maxDur = itemStackSnapshot.getMaxDurability();
+            int damage = itemStackSnapshot.getDamage();
             predicates.put(ModelOverrideType.DAMAGE, (float) damage / (float) maxDur);
             predicates.put(ModelOverrideType.DAMAGED, DiscordItemStackUtils.isUnbreakable(item) || (damage <= 0) ? 0F : 1F);
         }
@@ -197,7 +200,7 @@ public class ItemRenderUtils {
         } else if (icMaterial.isMaterial(XMaterial.PLAYER_HEAD)) {
             BufferedImage skinImage = manager.getTextureManager().getTexture(ResourceRegistry.DEFAULT_WIDE_SKIN_LOCATION).getTexture();
             if (item.getItemMeta() != null) {
-                CompoundTag itemCompoundTag = ((CompoundTag) NBTParsingUtils.fromSNBT(ItemNBTUtils.getNMSItemStackJson(item))).getCompoundTag("tag");
+                CompoundTag itemCompoundTag = itemStackSnapshot.getTag();
                 if (itemCompoundTag != null) {
                     Tag<?> skullOwnerTag = itemCompoundTag.get("SkullOwner");
                     try {
@@ -276,7 +279,7 @@ public class ItemRenderUtils {
             }
             providedTextures.put(ResourceRegistry.SKIN_TEXTURE_PLACEHOLDER, new GeneratedTextureResource(manager, ModelUtils.convertToModernSkinTexture(skinImage)));
         } else if (icMaterial.isMaterial(XMaterial.ELYTRA)) {
-            int durability = item.getType().getMaxDurability() - (InteractiveChat.version.isLegacy() ? item.getDurability() : ((Damageable) item.getItemMeta()).getDamage());
+            int durability = itemStackSnapshot.getMaxDurability() - itemStackSnapshot.getDamage();
             if (durability <= 1) {
                 predicates.put(ModelOverrideType.BROKEN, 1F);
             }
@@ -399,9 +402,8 @@ public class ItemRenderUtils {
             predicates.put(ModelOverrideType.ANGLE, (float) (angle - 0.015625));
         } else if (icMaterial.isMaterial(XMaterial.LIGHT)) {
             float level = 1F;
-            CompoundTag itemTag = (CompoundTag) NBTParsingUtils.fromSNBT(ItemNBTUtils.getNMSItemStackJson(item));
-            if (itemTag != null && itemTag.containsKey("tag")) {
-                CompoundTag itemTagTag = itemTag.getCompoundTag("tag");
+            CompoundTag itemTagTag = itemStackSnapshot.getTag();
+            if (itemTagTag != null) {
                 if (itemTagTag.containsKey("BlockStateTag")) {
                     CompoundTag blockStateTag = itemTagTag.getCompoundTag("BlockStateTag");
                     if (blockStateTag.containsKey("level")) {
@@ -561,7 +563,7 @@ public class ItemRenderUtils {
             modelKey = directLocation;
         }
 
-        Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>> postResolveFunction = manager.getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, item, is1_8, predicates, player, world, livingEntity, manager.getLanguageManager().getTranslateFunction().ofLanguage(language)).orElse(null);
+        Function<BlockModel, ValuePairs<BlockModel, Map<String, TextureResource>>> postResolveFunction = manager.getResourceRegistry(CustomItemTextureRegistry.IDENTIFIER, CustomItemTextureRegistry.class).getItemPostResolveFunction(modelKey, slot, itemStackSnapshot, is1_8, predicates, player, world, livingEntity, manager.getLanguageManager().getTranslateFunction().ofLanguage(language)).orElse(null);
 
         return new ItemStackProcessResult(requiresEnchantmentGlint, predicates, providedTextures, tintColorProvider, modelKey, postResolveFunction, enchantmentGlintFunction, rawEnchantmentGlintFunction);
     }
@@ -0,0 +1,286 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.loohp.interactivechatdiscordsrvaddon.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class MediaDownloadPipeline implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, HostQueue> hostQueues;
+    private final AtomicInteger pendingCount;
+    private final int queueSize;
+    private final int perHostLimit;
+    private final int timeout;
+
+    public MediaDownloadPipeline(int threads, int queueSize, int perHostLimit, int timeout) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), new ThreadFactoryBuilder().setNameFormat("InteractiveChatDiscordSRVAddon Async Media Download Thread #%d").build(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.hostQueues = new ConcurrentHashMap<>();
+        this.pendingCount = new AtomicInteger(0);
+        this.queueSize = queueSize;
+        this.perHostLimit = perHostLimit;
+        this.timeout = timeout;
+    }
+
+    public CompletableFuture<DownloadedMedia> fetch(List<String> urls, long sizeLimit) {
+        return fetch(urls, sizeLimit, contentType -> true);
+    }
+
+    /**
+     * The content type filter is checked as soon as the response headers arrive,
+     * a rejected download is aborted before its body is read.
+     */
+    public CompletableFuture<DownloadedMedia> fetch(List<String> urls, long sizeLimit, Predicate<String> contentTypeFilter) {
+        CompletableFuture<DownloadedMedia> future = new CompletableFuture<>();
+        new DownloadRequest(urls, sizeLimit, contentTypeFilter, future).next(null);
+        return future;
+    }
+
+    public int getQueuedCount() {
+        return pendingCount.get() + executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    private DownloadedMedia download(String link, long sizeLimit, Predicate<String> contentTypeFilter) throws IOException {
+        URL url = new URL(link);
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        connection.setDefaultUseCaches(false);
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.addRequestProperty("User-Agent", "Mozilla/5.0");
+        connection.addRequestProperty("Cache-Control", "no-cache, no-store, must-revalidate");
+        connection.addRequestProperty("Pragma", "no-cache");
+        try (InputStream stream = connection.getInputStream()) {
+            String contentType = connection.getContentType();
+            if (!contentTypeFilter.test(contentType)) {
+                disconnect(connection);
+                throw new IOException("Content at " + link + " has an unaccepted content type " + contentType);
+            }
+            long length = connection.getContentLengthLong();
+            if (length > sizeLimit) {
+                disconnect(connection);
+                throw new IOException("Content at " + link + " is larger than " + sizeLimit + " bytes");
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(length > 0 ? (int) length : 8192);
+            byte[] data = new byte[8192];
+            long total = 0;
+            int nRead;
+            while ((nRead = stream.read(data, 0, data.length)) != -1) {
+                total += nRead;
+                if (total > sizeLimit) {
+                    disconnect(connection);
+                    throw new IOException("Content at " + link + " is larger than " + sizeLimit + " bytes");
+                }
+                buffer.write(data, 0, nRead);
+            }
+            return new DownloadedMedia(link, contentType, buffer.toByteArray());
+        }
+    }
+
+    private static void disconnect(URLConnection connection) {
+        if (connection instanceof HttpURLConnection) {
+            ((HttpURLConnection) connection).disconnect();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private class DownloadRequest {
+
+        private final List<String> urls;
+        private final long sizeLimit;
+        private final Predicate<String> contentTypeFilter;
+        private final CompletableFuture<DownloadedMedia> future;
+        private int index;
+
+        private DownloadRequest(List<String> urls, long sizeLimit, Predicate<String> contentTypeFilter, CompletableFuture<DownloadedMedia> future) {
+            this.urls = urls;
+            this.sizeLimit = sizeLimit;
+            this.contentTypeFilter = contentTypeFilter;
+            this.future = future;
+            this.index = 0;
+        }
+
+        private void next(IOException lastException) {
+            if (index >= urls.size()) {
+                future.completeExceptionally(lastException == null ? new IOException("No url to download from") : lastException);
+                return;
+            }
+            String link = urls.get(index++);
+            String host;
+            try {
+                host = new URL(link).getHost().toLowerCase(Locale.ROOT);
+            } catch (IOException e) {
+                next(e);
+                return;
+            }
+            submit(host, new DownloadTask(this, link));
+        }
+
+        private void run(String link) {
+            try {
+                future.complete(download(link, sizeLimit, contentTypeFilter));
+            } catch (IOException e) {
+                next(e);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+    }
+
+    private static class DownloadTask {
+
+        private final DownloadRequest request;
+        private final String link;
+
+        private DownloadTask(DownloadRequest request, String link) {
+            this.request = request;
+            this.link = link;
+        }
+
+    }
+
+    private void submit(String host, DownloadTask task) {
+        boolean[] dispatch = new boolean[1];
+        boolean[] rejected = new boolean[1];
+        hostQueues.compute(host, (k, queue) -> {
+            if (queue == null) {
+                queue = new HostQueue();
+            }
+            if (queue.active < perHostLimit) {
+                queue.active++;
+                dispatch[0] = true;
+            } else if (pendingCount.incrementAndGet() > queueSize) {
+                pendingCount.decrementAndGet();
+                rejected[0] = true;
+            } else {
+                queue.pending.add(task);
+            }
+            return queue;
+        });
+        if (dispatch[0]) {
+            dispatch(host, task);
+        } else if (rejected[0]) {
+            task.request.future.completeExceptionally(new RejectedExecutionException("Too many downloads are waiting for a connection slot"));
+        }
+    }
+
+    private void dispatch(String host, DownloadTask task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.request.run(task.link);
+                } finally {
+                    release(host);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            task.request.future.completeExceptionally(e);
+            release(host);
+        }
+    }
+
+    private void release(String host) {
+        DownloadTask[] next = new DownloadTask[1];
+        hostQueues.computeIfPresent(host, (k, queue) -> {
+            next[0] = queue.pending.poll();
+            if (next[0] != null) {
+                pendingCount.decrementAndGet();
+                return queue;
+            }
+            //returning null removes the idle queue, hosts come from user posted links and would otherwise pile up
+            return --queue.active <= 0 ? null : queue;
+        });
+        if (next[0] != null) {
+            dispatch(host, next[0]);
+        }
+    }
+
+    /**
+     * Holds the downloads waiting for a connection slot to one host. A waiting
+     * download occupies no worker thread, it is handed to the executor when a
+     * running download to the same host finishes. Only read or changed inside
+     * hostQueues.compute for its host.
+     */
+    private static class HostQueue {
+
+        private final Deque<DownloadTask> pending = new ArrayDeque<>();
+        private int active = 0;
+
+    }
+
+    public static class DownloadedMedia {
+
+        private final String url;
+        private final String contentType;
+        private final byte[] data;
+
+        public DownloadedMedia(String url, String contentType, byte[] data) {
+            this.url = url;
+            this.contentType = contentType;
+            this.data = data;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+    }
+
+}
@@ -24,7 +24,6 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketContainer;
-import com.comphenix.protocol.reflect.FieldAccessException;
 import com.comphenix.protocol.wrappers.EnumWrappers.ItemSlot;
 import com.comphenix.protocol.wrappers.Pair;
 import com.loohp.interactivechat.InteractiveChat;
@@ -34,12 +33,11 @@ import com.loohp.interactivechat.utils.NMSUtils;
 import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageFrame;
 import com.loohp.interactivechatdiscordsrvaddon.graphics.ImageUtils;
+import com.loohp.interactivechatdiscordsrvaddon.graphics.MapQuantizer;
 import com.loohp.interactivechatdiscordsrvaddon.listeners.InboundToGameEvents;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.MapMeta;
-import org.bukkit.map.MapPalette;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
@@ -50,12 +48,18 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @SuppressWarnings("deprecation")
 public class GraphicsToPacketMapWrapper {
 
     public static final short MAP_ID = Short.MAX_VALUE;
+    public static final int MAP_SIZE = 128;
 
     private static Class<?> nmsMapIconClass;
     private static Class<?> nmsWorldMapClass;
@@ -79,17 +83,19 @@ public class GraphicsToPacketMapWrapper {
     private volatile boolean done;
     private List<ImageFrame> frames;
     private List<byte[]> colors;
+    private List<MapDelta> deltas;
     private ItemStack mapItem;
     private int totalTime;
     private boolean playbackBar;
     private Color backgroundColor;
+    private final Map<UUID, LongAdder> bytesSent = new ConcurrentHashMap<>();
 
     public GraphicsToPacketMapWrapper(List<ImageFrame> frames, boolean playbackBar, Color backgroundColor) {
-        this.done = true;
         this.frames = frames;
         this.playbackBar = playbackBar;
         this.backgroundColor = backgroundColor;
-        update();
+        render();
+        this.done = true;
     }
 
     public GraphicsToPacketMapWrapper(BufferedImage image, Color backgroundColor) {
@@ -108,7 +114,7 @@ public class GraphicsToPacketMapWrapper {
     }
 
     public boolean futureCancelled() {
-        return done && frames == null;
+        return done && frames == null && colors == null;
     }
 
     public synchronized void completeFuture(List<ImageFrame> frames) {
@@ -116,53 +122,112 @@ public class GraphicsToPacketMapWrapper {
             return;
         }
         this.frames = frames;
+        if (frames != null) {
+            render();
+        }
+        this.done = true;
+    }
+
+    public synchronized void completeFutureWithColors(List<byte[]> colors) {
+        if (done) {
+            return;
+        }
+        List<MapDelta> deltas = computeDeltas(colors);
+        this.mapItem = createMapItem();
+        this.totalTime = colors.size() * 50;
+        this.colors = colors;
+        this.deltas = deltas;
         this.done = true;
-        update();
     }
 
     public void update() {
         if (!done) {
             throw new IllegalStateException("Future has not complete!");
         }
-        this.colors = new ArrayList<>();
-        this.mapItem = XMaterial.FILLED_MAP.parseItem();
-        if (InteractiveChat.version.isLegacy()) {
-            mapItem.setDurability(MAP_ID);
-        } else {
-            MapMeta meta = (MapMeta) mapItem.getItemMeta();
-            meta.setMapId(MAP_ID);
-            mapItem.setItemMeta(meta);
-        }
+        render();
+        //volatile write so readers checking futureCompleted() see the new frames
+        this.done = true;
+    }
+
+    private void render() {
+        List<byte[]> colors = new ArrayList<>();
         int totalTime = 0;
         for (ImageFrame frame : frames) {
             totalTime += frame.getDelay();
         }
-        this.totalTime = totalTime;
+        MapQuantizer quantizer = MapQuantizer.getInstance();
+        MapQuantizer.Dithering dithering = InteractiveChatDiscordSrvAddon.plugin.discordAttachmentsMapDithering;
+        Map<Integer, BufferedImage> processedFrames = new HashMap<>();
+        Map<Integer, byte[]> frameColors = new HashMap<>();
+        int lastFrame = -1;
+        int lastFilled = -1;
+        byte[] lastColors = null;
         for (int currentTime = 0; currentTime <= totalTime; currentTime += 50) {
             int currentFrame = getFrameAt(currentTime);
             if (currentFrame < 0) {
                 break;
             }
-            BufferedImage processedFrame = ImageUtils.resizeImageQuality(ImageUtils.squarify(frames.get(currentFrame).getImage()), 128, 128);
+            int filled = playbackBar ? (int) (((double) currentTime / (double) totalTime) * 128) : 0;
+            if (currentFrame == lastFrame && filled == lastFilled) {
+                colors.add(lastColors);
+                continue;
+            }
+            BufferedImage processedFrame = processedFrames.computeIfAbsent(currentFrame, i -> ImageUtils.resizeImageQuality(ImageUtils.squarify(frames.get(i).getImage()), 128, 128));
+            byte[] colorArray = frameColors.computeIfAbsent(currentFrame, i -> quantizer.quantize(withBackground(processedFrame), dithering));
             if (playbackBar) {
-                Graphics2D g = processedFrame.createGraphics();
+                BufferedImage bar = ImageUtils.copyAndGetSubImage(processedFrame, 0, 126, 128, 2);
+                Graphics2D g = bar.createGraphics();
                 g.setColor(InteractiveChatDiscordSrvAddon.plugin.playbackBarEmptyColor);
-                g.fillRect(0, 126, 128, 2);
+                g.fillRect(0, 0, 128, 2);
                 g.setColor(InteractiveChatDiscordSrvAddon.plugin.playbackBarFilledColor);
-                g.fillRect(0, 126, (int) (((double) currentTime / (double) totalTime) * 128), 2);
-                g.dispose();
-            }
-            if (backgroundColor != null) {
-                BufferedImage background = new BufferedImage(processedFrame.getWidth(), processedFrame.getHeight(), BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g = background.createGraphics();
-                g.setColor(backgroundColor);
-                g.fillRect(0, 0, background.getWidth(), background.getHeight());
-                g.drawImage(processedFrame, 0, 0, null);
+                g.fillRect(0, 0, filled, 2);
                 g.dispose();
-                processedFrame = background;
+                colorArray = Arrays.copyOf(colorArray, colorArray.length);
+                quantizer.quantize(withBackground(bar), dithering, colorArray, 126);
             }
-            this.colors.add(MapPalette.imageToBytes(processedFrame));
+            colors.add(colorArray);
+            lastFrame = currentFrame;
+            lastFilled = filled;
+            lastColors = colorArray;
+        }
+        List<MapDelta> deltas = computeDeltas(colors);
+        this.mapItem = createMapItem();
+        this.totalTime = totalTime;
+        this.colors = colors;
+        this.deltas = deltas;
+    }
+
+    private static ItemStack createMapItem() {
+        ItemStack mapItem = XMaterial.FILLED_MAP.parseItem();
+        if (InteractiveChat.version.isLegacy()) {
+            mapItem.setDurability(MAP_ID);
+        } else {
+            MapMeta meta = (MapMeta) mapItem.getItemMeta();
+            meta.setMapId(MAP_ID);
+            mapItem.setItemMeta(meta);
+        }
+        return mapItem;
+    }
+
+    private static List<MapDelta> computeDeltas(List<byte[]> colors) {
+        List<MapDelta> deltas = new ArrayList<>(colors.size());
+        for (int i = 0; i < colors.size(); i++) {
+            deltas.add(MapDelta.diff(colors.get(i == 0 ? colors.size() - 1 : i - 1), colors.get(i)));
         }
+        return deltas;
+    }
+
+    private BufferedImage withBackground(BufferedImage image) {
+        if (backgroundColor == null) {
+            return image;
+        }
+        BufferedImage background = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = background.createGraphics();
+        g.setColor(backgroundColor);
+        g.fillRect(0, 0, background.getWidth(), background.getHeight());
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return background;
     }
 
     public List<ImageFrame> getImageFrame() {
@@ -190,6 +255,23 @@ public class GraphicsToPacketMapWrapper {
         return colors;
     }
 
+    public List<MapDelta> getDeltas() {
+        return deltas;
+    }
+
+    public long getBytesSent(Player player) {
+        LongAdder adder = bytesSent.get(player.getUniqueId());
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getTotalBytesSent() {
+        long total = 0;
+        for (LongAdder adder : bytesSent.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
     public void show(Player player) {
         if (!done) {
             throw new IllegalStateException("Future has not complete!");
@@ -217,63 +299,127 @@ public class GraphicsToPacketMapWrapper {
             }
         }
 
-        PacketContainer packet2 = protocollib.createPacket(PacketType.Play.Server.MAP);
+        protocollib.sendServerPacket(player, packet1);
+
+        InteractiveChatDiscordSrvAddon.plugin.mapPlaybackScheduler.addViewer(player, this);
+    }
+
+    LongAdder getBytesSentCounter(Player player) {
+        return bytesSent.computeIfAbsent(player.getUniqueId(), k -> new LongAdder());
+    }
+
+    public PacketContainer createMapPacket(MapDelta delta) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.MAP);
         if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_17)) {
-            packet2.getIntegers().write(0, (int) MAP_ID);
-            packet2.getBytes().write(0, (byte) 0);
-            packet2.getBooleans().write(0, false);
+            packet.getIntegers().write(0, (int) MAP_ID);
+            packet.getBytes().write(0, (byte) 0);
+            packet.getBooleans().write(0, false);
         } else {
             int mapIconFieldPos = 2;
-            packet2.getIntegers().write(0, (int) MAP_ID);
-            packet2.getBytes().write(0, (byte) 0);
+            packet.getIntegers().write(0, (int) MAP_ID);
+            packet.getBytes().write(0, (byte) 0);
             if (!InteractiveChat.version.isOld()) {
-                packet2.getBooleans().write(0, false);
+                packet.getBooleans().write(0, false);
                 mapIconFieldPos++;
             }
             if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_14)) {
-                packet2.getBooleans().write(1, false);
+                packet.getBooleans().write(1, false);
                 mapIconFieldPos++;
             }
-            packet2.getModifier().write(mapIconFieldPos, Array.newInstance(nmsMapIconClass, 0));
-            packet2.getIntegers().write(1, 0);
-            packet2.getIntegers().write(2, 0);
-            packet2.getIntegers().write(3, 128);
-            packet2.getIntegers().write(4, 128);
+            packet.getModifier().write(mapIconFieldPos, Array.newInstance(nmsMapIconClass, 0));
         }
+        writeMapData(packet, delta);
+        return packet;
+    }
 
-        protocollib.sendServerPacket(player, packet1);
+    private static void writeMapData(PacketContainer packet, MapDelta delta) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_17)) {
+            packet.getModifier().write(4, nmsWorldMapBClassConstructor.newInstance(delta.getX(), delta.getY(), delta.getWidth(), delta.getHeight(), delta.getData()));
+        } else {
+            packet.getIntegers().write(1, delta.getX());
+            packet.getIntegers().write(2, delta.getY());
+            packet.getIntegers().write(3, delta.getWidth());
+            packet.getIntegers().write(4, delta.getHeight());
+            packet.getByteArrays().write(0, delta.getData());
+        }
+    }
 
-        GraphicsToPacketMapWrapper ref = this;
-        new BukkitRunnable() {
-            int index = 0;
-
-            @Override
-            public void run() {
-                GraphicsToPacketMapWrapper wrapper = InboundToGameEvents.MAP_VIEWERS.get(player);
-                if (wrapper != null && wrapper.equals(ref)) {
-                    try {
-                        byte[] colorArray = colors.get(index);
-                        if (colorArray == null) {
-                            throw new IllegalStateException("Color Array at index " + index + " is null!");
+    public static class MapDelta {
+
+        public static MapDelta diff(byte[] previous, byte[] current) {
+            if (previous == current) {
+                return null;
+            }
+            int minX = 128;
+            int minY = 128;
+            int maxX = -1;
+            int maxY = -1;
+            for (int y = 0; y < 128; y++) {
+                int offset = y * 128;
+                for (int x = 0; x < 128; x++) {
+                    if (previous[offset + x] != current[offset + x]) {
+                        if (x < minX) {
+                            minX = x;
                         }
-                        if (InteractiveChat.version.isNewerOrEqualTo(MCVersion.V1_17)) {
-                            packet2.getModifier().write(4, nmsWorldMapBClassConstructor.newInstance(0, 0, 128, 128, colorArray));
-                        } else {
-                            packet2.getByteArrays().write(0, colorArray);
+                        if (x > maxX) {
+                            maxX = x;
                         }
-                        protocollib.sendServerPacket(player, packet2);
-                    } catch (InvocationTargetException | FieldAccessException | InstantiationException |
-                             IllegalAccessException | IllegalArgumentException e) {
-                        e.printStackTrace();
+                        if (y < minY) {
+                            minY = y;
+                        }
+                        maxY = y;
                     }
-                } else {
-                    this.cancel();
-                }
-                if (++index >= colors.size()) {
-                    index = 0;
                 }
             }
-        }.runTaskTimer(InteractiveChatDiscordSrvAddon.plugin, 0, 1);
+            if (maxX < 0) {
+                return null;
+            }
+            int width = maxX - minX + 1;
+            int height = maxY - minY + 1;
+            if (width == 128 && height == 128) {
+                return new MapDelta(0, 0, 128, 128, current);
+            }
+            byte[] data = new byte[width * height];
+            for (int y = 0; y < height; y++) {
+                System.arraycopy(current, (minY + y) * 128 + minX, data, y * width, width);
+            }
+            return new MapDelta(minX, minY, width, height, data);
+        }
+
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final byte[] data;
+
+        public MapDelta(int x, int y, int width, int height, byte[] data) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.data = data;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
     }
 
 }
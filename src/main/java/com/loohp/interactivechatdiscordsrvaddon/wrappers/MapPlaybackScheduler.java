@@ -0,0 +1,216 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.wrappers;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.reflect.FieldAccessException;
+import com.loohp.interactivechatdiscordsrvaddon.listeners.InboundToGameEvents;
+import com.loohp.interactivechatdiscordsrvaddon.wrappers.GraphicsToPacketMapWrapper.MapDelta;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MapPlaybackScheduler {
+
+    /**
+     * Deltas assume the client holds the previous frame, a full frame is sent
+     * this often so a dropped packet does not leave the map corrupted.
+     */
+    public static final int FULL_FRAME_INTERVAL = 100;
+
+    private final Map<Player, Viewer> viewers;
+    private final AtomicBoolean ticking;
+    private final AtomicLong ticks;
+    private final AtomicLong totalTickNanos;
+    private volatile long lastTickNanos;
+    private BukkitTask task;
+
+    public MapPlaybackScheduler() {
+        this.viewers = new ConcurrentHashMap<>();
+        this.ticking = new AtomicBoolean(false);
+        this.ticks = new AtomicLong(0);
+        this.totalTickNanos = new AtomicLong(0);
+        this.lastTickNanos = 0;
+        this.task = null;
+    }
+
+    public synchronized void start(Plugin plugin) {
+        if (task != null) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> tick(), 0, 1);
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        viewers.clear();
+    }
+
+    public void addViewer(Player player, GraphicsToPacketMapWrapper wrapper) {
+        viewers.put(player, new Viewer(player, wrapper, wrapper.getBytesSentCounter(player)));
+    }
+
+    public int getActiveViewers() {
+        return viewers.size();
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getAverageTickNanos() {
+        long count = ticks.get();
+        return count == 0 ? 0 : totalTickNanos.get() / count;
+    }
+
+    private void tick() {
+        //async repeating tasks may overlap when a tick runs long, skip instead of advancing viewers twice
+        if (!ticking.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            tick0();
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    private void tick0() {
+        long start = System.nanoTime();
+        Map<GraphicsToPacketMapWrapper, Map<Integer, List<Viewer>>> groups = new IdentityHashMap<>();
+        Iterator<Viewer> itr = viewers.values().iterator();
+        while (itr.hasNext()) {
+            Viewer viewer = itr.next();
+            GraphicsToPacketMapWrapper wrapper = InboundToGameEvents.MAP_VIEWERS.get(viewer.player);
+            if (wrapper != viewer.wrapper || !viewer.player.isOnline()) {
+                itr.remove();
+                continue;
+            }
+            int key = viewer.fullFrame ? -1 - viewer.index : viewer.index;
+            groups.computeIfAbsent(wrapper, k -> new HashMap<>()).computeIfAbsent(key, k -> new ArrayList<>()).add(viewer);
+        }
+        ProtocolManager protocollib = ProtocolLibrary.getProtocolManager();
+        for (Map.Entry<GraphicsToPacketMapWrapper, Map<Integer, List<Viewer>>> entry : groups.entrySet()) {
+            GraphicsToPacketMapWrapper wrapper = entry.getKey();
+            try {
+                tickWrapper(protocollib, wrapper, entry.getValue());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                for (List<Viewer> groupViewers : entry.getValue().values()) {
+                    for (Viewer viewer : groupViewers) {
+                        viewers.remove(viewer.player, viewer);
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        totalTickNanos.addAndGet(elapsed);
+        ticks.incrementAndGet();
+    }
+
+    private void tickWrapper(ProtocolManager protocollib, GraphicsToPacketMapWrapper wrapper, Map<Integer, List<Viewer>> groups) {
+        List<byte[]> colors = wrapper.getColors();
+        List<MapDelta> deltas = wrapper.getDeltas();
+        if (colors == null || deltas == null || colors.isEmpty() || colors.size() != deltas.size()) {
+            throw new IllegalStateException("Map wrapper has no playable frames");
+        }
+        for (Map.Entry<Integer, List<Viewer>> group : groups.entrySet()) {
+            int key = group.getKey();
+            int index = key < 0 ? -1 - key : key;
+            if (index >= colors.size()) {
+                throw new IllegalStateException("Frame index " + index + " is out of bounds for " + colors.size() + " frames");
+            }
+            List<Viewer> groupViewers = group.getValue();
+            try {
+                MapDelta delta;
+                if (key < 0) {
+                    byte[] colorArray = colors.get(index);
+                    if (colorArray == null) {
+                        throw new IllegalStateException("Color Array at index " + index + " is null!");
+                    }
+                    delta = new MapDelta(0, 0, 128, 128, colorArray);
+                } else {
+                    delta = deltas.get(index);
+                }
+                if (delta != null) {
+                    PacketContainer packet = wrapper.createMapPacket(delta);
+                    for (Viewer viewer : groupViewers) {
+                        protocollib.sendServerPacket(viewer.player, packet);
+                        viewer.bytesSent.add(delta.getData().length);
+                    }
+                }
+            } catch (InvocationTargetException | FieldAccessException | InstantiationException |
+                     IllegalAccessException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+            int next = index + 1 >= colors.size() ? 0 : index + 1;
+            for (Viewer viewer : groupViewers) {
+                if (key < 0) {
+                    viewer.fullFrame = false;
+                    viewer.ticksSinceFullFrame = 0;
+                } else if (++viewer.ticksSinceFullFrame >= FULL_FRAME_INTERVAL) {
+                    viewer.fullFrame = true;
+                }
+                viewer.index = next;
+            }
+        }
+    }
+
+    private static class Viewer {
+
+        private final Player player;
+        private final GraphicsToPacketMapWrapper wrapper;
+        private final LongAdder bytesSent;
+        private int index;
+        private boolean fullFrame;
+        private int ticksSinceFullFrame;
+
+        private Viewer(Player player, GraphicsToPacketMapWrapper wrapper, LongAdder bytesSent) {
+            this.player = player;
+            this.wrapper = wrapper;
+            this.bytesSent = bytesSent;
+            this.index = 0;
+            this.fullFrame = true;
+            this.ticksSinceFullFrame = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of InteractiveChatDiscordSrvAddon2.
+ *
+ * Copyright (C) 2022. LoohpJames <jamesloohp@gmail.com>
+ * Copyright (C) 2022. Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.loohp.interactivechatdiscordsrvaddon.wrappers;
+
+import com.loohp.interactivechatdiscordsrvaddon.InteractiveChatDiscordSrvAddon;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.Hasher128;
+import com.loohp.interactivechatdiscordsrvaddon.objectholders.WeightedLRUCache;
+import com.loohp.interactivechatdiscordsrvaddon.resources.CacheObject;
+import com.loohp.interactivechatdiscordsrvaddon.resources.ICacheManager;
+import com.loohp.interactivechatdiscordsrvaddon.resources.ResourceManager;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MapPreviewCache {
+
+    public static final String CACHE_KEY_PREFIX = "MapPreview/";
+    public static final long DEFAULT_MAX_SIZE = 32L * 1024L * 1024L;
+    public static final int MAX_URL_ENTRIES = 4096;
+
+    public static String getContentKey(byte[] data, boolean animated) {
+        InteractiveChatDiscordSrvAddon plugin = InteractiveChatDiscordSrvAddon.plugin;
+        Hasher128 hasher = new Hasher128().putBytes(data, 0, data.length).putBoolean(animated);
+        //conversions depend on these settings, entries on disk must not outlive a change to them
+        hasher.putString(plugin.discordAttachmentsMapDithering.name());
+        putColor(hasher, plugin.discordAttachmentsMapBackgroundColor);
+        hasher.putBoolean(plugin.playbackBarEnabled);
+        putColor(hasher, plugin.playbackBarFilledColor);
+        putColor(hasher, plugin.playbackBarEmptyColor);
+        return hasher.hash().toString();
+    }
+
+    private static void putColor(Hasher128 hasher, Color color) {
+        if (color == null) {
+            hasher.putNull();
+        } else {
+            hasher.putInt(color.getRGB());
+        }
+    }
+
+    private static long getWeight(List<byte[]> colors) {
+        long weight = 0;
+        byte[] last = null;
+        for (byte[] colorArray : colors) {
+            if (colorArray != last) {
+                weight += colorArray.length;
+                last = colorArray;
+            }
+        }
+        return weight;
+    }
+
+    private final WeightedLRUCache<String, List<byte[]>> contentCache;
+    private final WeightedLRUCache<String, String> urlIndex;
+    private volatile boolean diskBacked;
+
+    public MapPreviewCache() {
+        this.contentCache = new WeightedLRUCache<>(DEFAULT_MAX_SIZE, colors -> getWeight(colors));
+        this.urlIndex = new WeightedLRUCache<>(MAX_URL_ENTRIES, key -> 1);
+        this.diskBacked = true;
+    }
+
+    public List<byte[]> getByUrl(String url, boolean animated) {
+        String contentKey = urlIndex.get(getUrlKey(url, animated));
+        return contentKey == null ? null : get(contentKey);
+    }
+
+    public List<byte[]> getByContent(String url, String contentKey, boolean animated) {
+        List<byte[]> colors = get(contentKey);
+        if (colors != null) {
+            urlIndex.put(getUrlKey(url, animated), contentKey);
+        }
+        return colors;
+    }
+
+    public void put(String url, String contentKey, boolean animated, List<byte[]> colors) {
+        if (colors == null || colors.isEmpty()) {
+            return;
+        }
+        contentCache.put(contentKey, colors);
+        urlIndex.put(getUrlKey(url, animated), contentKey);
+        if (diskBacked) {
+            ICacheManager cacheManager = getCacheManager();
+            if (cacheManager != null) {
+                cacheManager.putCache(CACHE_KEY_PREFIX + contentKey, new ArrayList<>(colors));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<byte[]> get(String contentKey) {
+        List<byte[]> colors = contentCache.get(contentKey);
+        if (colors != null || !diskBacked) {
+            return colors;
+        }
+        ICacheManager cacheManager = getCacheManager();
+        if (cacheManager == null) {
+            return null;
+        }
+        CacheObject<?> cacheObject = cacheManager.getCache(CACHE_KEY_PREFIX + contentKey);
+        if (cacheObject == null || !(cacheObject.getObject() instanceof List)) {
+            return null;
+        }
+        colors = (List<byte[]>) cacheObject.getObject();
+        contentCache.put(contentKey, colors);
+        return colors;
+    }
+
+    private String getUrlKey(String url, boolean animated) {
+        return (animated ? "A" : "S") + url;
+    }
+
+    private ICacheManager getCacheManager() {
+        ResourceManager resourceManager = InteractiveChatDiscordSrvAddon.plugin.getResourceManager();
+        if (resourceManager == null || !resourceManager.hasResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class)) {
+            return null;
+        }
+        return resourceManager.getResourceRegistry(ICacheManager.IDENTIFIER, ICacheManager.class);
+    }
+
+    public void clear() {
+        contentCache.clear();
+        urlIndex.clear();
+    }
+
+    public boolean isDiskBacked() {
+        return diskBacked;
+    }
+
+    public void setDiskBacked(boolean diskBacked) {
+        this.diskBacked = diskBacked;
+    }
+
+    public int getCount() {
+        return contentCache.size();
+    }
+
+    public long getSize() {
+        return contentCache.getWeight();
+    }
+
+    public long getMaxSize() {
+        return contentCache.getMaxWeight();
+    }
+
+    public void setMaxSize(long maxSize) {
+        contentCache.setMaxWeight(maxSize);
+    }
+
+    public long getHits() {
+        return contentCache.getHits();
+    }
+
+    public long getMisses() {
+        return contentCache.getMisses();
+    }
+
+    public double getHitRate() {
+        return contentCache.getHitRate();
+    }
+
+}